@@ -0,0 +1,67 @@
+package com.betrybe.agrix.jmh;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic entities for the microbenchmarks, shaped like the rows the list endpoints
+ * return: every crop belongs to one of a few farms, with realistic names and dates.
+ */
+final class BenchmarkData {
+
+  private static final long SEED = 42;
+
+  private static final int FARMS = 100;
+
+  private static final LocalDate FIRST_PLANTING = LocalDate.of(2020, 1, 1);
+
+  private BenchmarkData() {}
+
+  static List<Farm> farms(int size) {
+    List<Farm> farms = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Farm farm = new Farm();
+      farm.setId((long) i + 1);
+      farm.setName("Fazenda " + (i + 1));
+      farm.setSize(10.0 + i % 500);
+      farms.add(farm);
+    }
+    return farms;
+  }
+
+  static List<Crop> crops(int size) {
+    SplittableRandom random = new SplittableRandom(SEED);
+    List<Farm> farms = farms(FARMS);
+    List<Crop> crops = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      LocalDate plantedDate = FIRST_PLANTING.plusDays(random.nextInt(1000));
+      Crop crop = new Crop();
+      crop.setId((long) i + 1);
+      crop.setName("Plantação " + (i + 1));
+      crop.setPlantedArea(random.nextDouble(1.0, 100.0));
+      crop.setPlantedDate(plantedDate);
+      crop.setHarvestDate(plantedDate.plusDays(60 + random.nextInt(120)));
+      crop.setFarm(farms.get(i % FARMS));
+      crops.add(crop);
+    }
+    return crops;
+  }
+
+  static List<Fertilizer> fertilizers(int size) {
+    List<Fertilizer> fertilizers = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Fertilizer fertilizer = new Fertilizer();
+      fertilizer.setId((long) i + 1);
+      fertilizer.setName("Fertilizante " + (i + 1));
+      fertilizer.setBrand("Marca " + (i % 20));
+      fertilizer.setComposition("NPK " + (i % 10) + "-" + (i % 7) + "-" + (i % 5));
+      fertilizers.add(fertilizer);
+    }
+    return fertilizers;
+  }
+}
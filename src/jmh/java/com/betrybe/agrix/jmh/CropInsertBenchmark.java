@@ -0,0 +1,159 @@
+package com.betrybe.agrix.jmh;
+
+import com.betrybe.agrix.AgrixApplication;
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.repositories.CropRepository;
+import com.betrybe.agrix.models.repositories.FarmRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Time to insert 100k crops through the crop repository, in transactions of 1k rows, comparing
+ * the ids of the crops:
+ *
+ * <ul>
+ *   <li>identity: the IDENTITY ids used before, mapped by META-INF/orm-identity-ids.xml, which
+ *   need one INSERT round trip per row and disable JDBC batching;</li>
+ *   <li>pooled: the current sequence ids with the pooled optimizer, sent in JDBC batches.</li>
+ * </ul>
+ *
+ * <p>Every iteration starts from an empty crop table, created by Hibernate from the mapping of
+ * the param so both run against the same kind of schema. The score is the time per crop; add the
+ * SQL statements profiler to also get the statements per crop:</p>
+ *
+ * <pre>
+ * ./mvnw -P jmh compile exec:exec -Djmh.args="CropInsertBenchmark \
+ *     -prof com.betrybe.agrix.jmh.SqlStatementsProfiler"
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CropInsertBenchmark {
+
+  private static final int CROPS = 100_000;
+
+  private static final int CROPS_PER_TRANSACTION = 1_000;
+
+  private static final int FARMS = 100;
+
+  @Param({"identity", "pooled"})
+  private String ids;
+
+  private ConfigurableApplicationContext context;
+
+  private CropRepository cropRepository;
+
+  private TransactionTemplate transactionTemplate;
+
+  private JdbcTemplate jdbcTemplate;
+
+  private List<Farm> farms;
+
+  private List<List<Crop>> transactions;
+
+  /**
+   * Starts the application on a new in-memory database and inserts the farms of the crops.
+   */
+  @Setup
+  public void setup() {
+    List<String> args = new ArrayList<>(List.of(
+        "--spring.datasource.url=jdbc:h2:mem:agrix-jmh-" + UUID.randomUUID()
+            + ";DB_CLOSE_ON_EXIT=FALSE",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "--spring.jpa.show-sql=false",
+        "--spring.jpa.hibernate.ddl-auto=create",
+        "--spring.flyway.enabled=false",
+        "--spring.jpa.properties.hibernate.generate_statistics=true",
+        "--spring.main.banner-mode=off",
+        "--logging.level.root=warn"
+    ));
+    if ("identity".equals(ids)) {
+      args.add("--spring.jpa.mapping-resources=META-INF/orm-identity-ids.xml");
+    }
+
+    System.setProperty("spring.devtools.restart.enabled", "false");
+    context = new SpringApplicationBuilder(AgrixApplication.class)
+        .web(WebApplicationType.NONE)
+        .run(args.toArray(String[]::new));
+    cropRepository = context.getBean(CropRepository.class);
+    transactionTemplate = new TransactionTemplate(
+        context.getBean(PlatformTransactionManager.class));
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+    List<Farm> newFarms = BenchmarkData.farms(FARMS);
+    newFarms.forEach(farm -> farm.setId(null));
+    farms = context.getBean(FarmRepository.class).saveAll(newFarms);
+
+    SqlStatementsProfiler.register(context.getBean(EntityManagerFactory.class)
+        .unwrap(SessionFactory.class)
+        .getStatistics());
+  }
+
+  /**
+   * Empties the crop table, so every iteration inserts into the same table size, and builds the
+   * new crops of the iteration, grouped by transaction.
+   */
+  @Setup(Level.Iteration)
+  public void prepareIteration() {
+    jdbcTemplate.update("delete from crop");
+
+    transactions = new ArrayList<>(CROPS / CROPS_PER_TRANSACTION);
+    List<Crop> crops = BenchmarkData.crops(CROPS);
+    for (int i = 0; i < CROPS; i++) {
+      Crop crop = crops.get(i);
+      crop.setId(null);
+      crop.setFarm(farms.get(i % FARMS));
+    }
+    for (int from = 0; from < CROPS; from += CROPS_PER_TRANSACTION) {
+      transactions.add(crops.subList(from, from + CROPS_PER_TRANSACTION));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  /**
+   * Inserts 100k new crops, 1k per transaction.
+   */
+  @Benchmark
+  @OperationsPerInvocation(CROPS)
+  public void insertCrops() {
+    for (List<Crop> crops : transactions) {
+      transactionTemplate.executeWithoutResult(status -> cropRepository.saveAll(crops));
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.betrybe.agrix.jmh;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.projections.FarmDto;
+import com.betrybe.agrix.models.projections.FertilizerDto;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the entity/DTO conversions of the list endpoints, mapping a whole list the way
+ * the controllers and services do, with stream().map(...).toList(). Run with -prof gc to also
+ * get the bytes allocated per operation (gc.alloc.rate.norm).
+ *
+ * <pre>
+ * ./mvnw -P jmh compile exec:exec -Djmh.args="DtoMappingBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int size;
+
+  private List<Crop> crops;
+
+  private List<CropDto> cropDtos;
+
+  private List<Farm> farms;
+
+  private List<Fertilizer> fertilizers;
+
+  /**
+   * Creates the entities, and the DTOs converted back by toEntity, once per parameter value.
+   */
+  @Setup
+  public void setup() {
+    crops = BenchmarkData.crops(size);
+    cropDtos = crops.stream().map(CropDto::fromEntity).toList();
+    farms = BenchmarkData.farms(size);
+    fertilizers = BenchmarkData.fertilizers(size);
+  }
+
+  @Benchmark
+  public List<CropDto> cropFromEntity() {
+    return crops.stream().map(CropDto::fromEntity).toList();
+  }
+
+  @Benchmark
+  public List<Crop> cropToEntity() {
+    return cropDtos.stream().map(CropDto::toEntity).toList();
+  }
+
+  @Benchmark
+  public List<FarmDto> farmFromEntity() {
+    return farms.stream().map(FarmDto::fromEntity).toList();
+  }
+
+  @Benchmark
+  public List<FertilizerDto> fertilizerFromEntity() {
+    return fertilizers.stream().map(FertilizerDto::fromEntity).toList();
+  }
+}
@@ -0,0 +1,97 @@
+package com.betrybe.agrix.jmh;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.projections.FarmDto;
+import com.betrybe.agrix.models.projections.FertilizerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Throughput of the JSON serialization of the list endpoints, with an ObjectMapper configured
+ * like the application one (ISO dates). The bodies are written to a discarding stream, as the
+ * message converter writes them to the response, so only Jackson is measured. The
+ * cropsFromEntities benchmark adds the DTO mapping, covering the whole work of GET /crops after
+ * the query. Run with -prof gc to also get the bytes allocated per operation.
+ *
+ * <pre>
+ * ./mvnw -P jmh compile exec:exec -Djmh.args="JsonSerializationBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int size;
+
+  private ObjectWriter writer;
+
+  private List<Crop> crops;
+
+  private List<CropDto> cropDtos;
+
+  private List<FarmDto> farmDtos;
+
+  private List<FertilizerDto> fertilizerDtos;
+
+  /**
+   * Creates the ObjectMapper and the lists to serialize once per parameter value.
+   */
+  @Setup
+  public void setup() {
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    writer = objectMapper.writer();
+
+    crops = BenchmarkData.crops(size);
+    cropDtos = crops.stream().map(CropDto::fromEntity).toList();
+    farmDtos = BenchmarkData.farms(size).stream().map(FarmDto::fromEntity).toList();
+    fertilizerDtos = BenchmarkData.fertilizers(size).stream()
+        .map(FertilizerDto::fromEntity)
+        .toList();
+  }
+
+  @Benchmark
+  public void crops() throws IOException {
+    writer.writeValue(OutputStream.nullOutputStream(), cropDtos);
+  }
+
+  @Benchmark
+  public void farms() throws IOException {
+    writer.writeValue(OutputStream.nullOutputStream(), farmDtos);
+  }
+
+  @Benchmark
+  public void fertilizers() throws IOException {
+    writer.writeValue(OutputStream.nullOutputStream(), fertilizerDtos);
+  }
+
+  @Benchmark
+  public void cropsFromEntities() throws IOException {
+    writer.writeValue(OutputStream.nullOutputStream(),
+        crops.stream().map(CropDto::fromEntity).toList());
+  }
+}
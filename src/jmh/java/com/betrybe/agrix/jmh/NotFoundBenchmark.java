@@ -0,0 +1,119 @@
+package com.betrybe.agrix.jmh;
+
+import com.betrybe.agrix.AgrixApplication;
+import com.betrybe.agrix.services.exception.FarmNotFoundException;
+import com.betrybe.agrix.services.exception.NotFoundException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Throughput of the requests answered with 404, as sent by scanners and stale clients: every
+ * request asks the application, over HTTP, for an id that does not exist. The throw benchmark
+ * isolates the cost of raising a not found exception.
+ *
+ * <p>Run with the gc profiler to also get the allocations per request:</p>
+ *
+ * <pre>
+ * ./mvnw -P jmh compile exec:exec -Djmh.args="NotFoundBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(4)
+public class NotFoundBenchmark {
+
+  /**
+   * The application, started with its embedded server on a random port and a new, empty
+   * in-memory database.
+   */
+  @State(Scope.Benchmark)
+  public static class Server {
+
+    @Param({"/farms/%d", "/farms/%d/crops", "/crops/%d/fertilizers", "/fertilizers/%d"})
+    private String route;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    /**
+     * Starts the application and the HTTP client.
+     */
+    @Setup
+    public void setup() {
+      System.setProperty("spring.devtools.restart.enabled", "false");
+      context = new SpringApplicationBuilder(AgrixApplication.class)
+          .run(
+              "--server.port=0",
+              "--spring.datasource.url=jdbc:h2:mem:agrix-jmh-" + UUID.randomUUID()
+                  + ";DB_CLOSE_ON_EXIT=FALSE",
+              "--spring.datasource.driver-class-name=org.h2.Driver",
+              "--spring.datasource.username=sa",
+              "--spring.datasource.password=",
+              "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+              "--spring.jpa.show-sql=false",
+              "--spring.main.banner-mode=off",
+              "--logging.level.root=warn"
+          );
+      int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+      baseUrl = "http://localhost:" + port;
+      client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+      context.close();
+    }
+  }
+
+  /**
+   * Requests a random missing id, so no cache answers for the database.
+   */
+  @Benchmark
+  public int notFound(Server server) throws IOException, InterruptedException {
+    long id = -1 - ThreadLocalRandom.current().nextInt(1_000_000);
+    URI uri = URI.create(server.baseUrl + server.route.formatted(id));
+    HttpResponse<byte[]> response = server.client.send(
+        HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    if (response.statusCode() != 404) {
+      throw new IllegalStateException(uri + " answered " + response.statusCode());
+    }
+    return response.body().length;
+  }
+
+  @Benchmark
+  public String throwNotFound() {
+    try {
+      throw new FarmNotFoundException();
+    } catch (NotFoundException exception) {
+      return exception.getMessage();
+    }
+  }
+}
@@ -0,0 +1,195 @@
+package com.betrybe.agrix.jmh;
+
+import com.betrybe.agrix.AgrixApplication;
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.models.repositories.CropRepository;
+import com.betrybe.agrix.services.CropService;
+import com.betrybe.agrix.services.FarmService;
+import com.betrybe.agrix.services.FertilizerService;
+import com.betrybe.agrix.services.exception.NotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Throughput of the main crop reads and writes, going through the real repositories and
+ * services of the application, started without a web server against its own in-memory H2
+ * database seeded with farms, crops and fertilizers. Every benchmark runs in a fresh fork, so
+ * the inserts of one do not change the dataset of the others.
+ *
+ * <p>Add the SQL statements profiler to also get the statements prepared per operation
+ * (sql.statements.norm), and the gc profiler for the allocations per operation:</p>
+ *
+ * <pre>
+ * ./mvnw -P jmh compile exec:exec -Djmh.args="RepositoryBenchmark \
+ *     -prof com.betrybe.agrix.jmh.SqlStatementsProfiler -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+  private static final LocalDate FIRST_PLANTING = LocalDate.of(2020, 1, 1);
+
+  private static final int PLANTING_DAYS = 1000;
+
+  private static final int HARVEST_WINDOW_DAYS = 30;
+
+  @Param({"100"})
+  private int farms;
+
+  @Param({"50"})
+  private int cropsPerFarm;
+
+  @Param({"20"})
+  private int fertilizers;
+
+  @Param({"2"})
+  private int fertilizersPerCrop;
+
+  private ConfigurableApplicationContext context;
+
+  private CropRepository cropRepository;
+
+  private CropService cropService;
+
+  private FarmService farmService;
+
+  private List<Long> farmIds;
+
+  private List<Long> cropIds;
+
+  private List<Long> fertilizerIds;
+
+  /**
+   * Starts the application on a new in-memory database and seeds it through the services.
+   */
+  @Setup
+  public void setup() throws NotFoundException {
+    System.setProperty("spring.devtools.restart.enabled", "false");
+    context = new SpringApplicationBuilder(AgrixApplication.class)
+        .web(WebApplicationType.NONE)
+        .run(
+            "--spring.datasource.url=jdbc:h2:mem:agrix-jmh-" + UUID.randomUUID()
+                + ";DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.generate_statistics=true",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=warn"
+        );
+    cropRepository = context.getBean(CropRepository.class);
+    cropService = context.getBean(CropService.class);
+    farmService = context.getBean(FarmService.class);
+
+    seed(context.getBean(FertilizerService.class));
+
+    SqlStatementsProfiler.register(context.getBean(EntityManagerFactory.class)
+        .unwrap(SessionFactory.class)
+        .getStatistics());
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<Crop> findByFarmId() {
+    return cropRepository.findByFarmId(randomOf(farmIds));
+  }
+
+  @Benchmark
+  public List<Crop> findByHarvestDateBetween() {
+    LocalDate start = FIRST_PLANTING.plusDays(ThreadLocalRandom.current().nextInt(PLANTING_DAYS));
+    return cropRepository.findByHarvestDateBetween(start, start.plusDays(HARVEST_WINDOW_DAYS));
+  }
+
+  @Benchmark
+  public List<Crop> findAll() {
+    return cropRepository.findAll();
+  }
+
+  @Benchmark
+  public void addFertilizerToCrop() throws NotFoundException {
+    cropService.addFertilizerToCrop(randomOf(cropIds), randomOf(fertilizerIds));
+  }
+
+  @Benchmark
+  public Optional<Crop> insertCrop() {
+    return farmService.insertCrop(randomOf(farmIds), newCrop(ThreadLocalRandom.current()));
+  }
+
+  private void seed(FertilizerService fertilizerService) throws NotFoundException {
+    SplittableRandom random = new SplittableRandom(42);
+
+    fertilizerIds = new ArrayList<>(fertilizers);
+    for (Fertilizer fertilizer : BenchmarkData.fertilizers(fertilizers)) {
+      fertilizer.setId(null);
+      fertilizerIds.add(fertilizerService.insertFertilizer(fertilizer).getId());
+    }
+
+    farmIds = new ArrayList<>(farms);
+    for (Farm farm : BenchmarkData.farms(farms)) {
+      farm.setId(null);
+      farmIds.add(farmService.insertFarm(farm).getId());
+    }
+
+    cropIds = new ArrayList<>(farms * cropsPerFarm);
+    for (Long farmId : farmIds) {
+      for (int i = 0; i < cropsPerFarm; i++) {
+        Long cropId = farmService.insertCrop(farmId, newCrop(random)).orElseThrow().getId();
+        cropIds.add(cropId);
+        for (int j = 0; j < fertilizersPerCrop; j++) {
+          cropService.addFertilizerToCrop(cropId, fertilizerIds.get(random.nextInt(fertilizers)));
+        }
+      }
+    }
+  }
+
+  private static Crop newCrop(RandomGenerator random) {
+    LocalDate plantedDate = FIRST_PLANTING.plusDays(random.nextInt(PLANTING_DAYS));
+    Crop crop = new Crop();
+    crop.setName("Plantação");
+    crop.setPlantedArea(random.nextDouble(1.0, 100.0));
+    crop.setPlantedDate(plantedDate);
+    crop.setHarvestDate(plantedDate.plusDays(60 + random.nextInt(120)));
+    return crop;
+  }
+
+  private static Long randomOf(List<Long> ids) {
+    return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+  }
+}
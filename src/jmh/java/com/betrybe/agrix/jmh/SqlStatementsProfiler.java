@@ -0,0 +1,63 @@
+package com.betrybe.agrix.jmh;
+
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * JMH profiler reporting the SQL statements prepared per benchmark operation, read from the
+ * Hibernate statistics of the benchmarked application. Enable it with
+ * -prof com.betrybe.agrix.jmh.SqlStatementsProfiler; the benchmark state registers the
+ * statistics once the application is started.
+ */
+public class SqlStatementsProfiler implements InternalProfiler {
+
+  private static volatile Statistics statistics;
+
+  private long statementsBefore;
+
+  /**
+   * Registers the statistics the profiler reads, clearing the statements issued so far.
+   *
+   * @param benchmarkStatistics The statistics of the application under benchmark.
+   */
+  public static void register(Statistics benchmarkStatistics) {
+    benchmarkStatistics.clear();
+    statistics = benchmarkStatistics;
+  }
+
+  @Override
+  public String getDescription() {
+    return "SQL statements prepared per operation, from the Hibernate statistics";
+  }
+
+  @Override
+  public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+    Statistics current = statistics;
+    statementsBefore = current != null ? current.getPrepareStatementCount() : 0;
+  }
+
+  @Override
+  public Collection<? extends Result> afterIteration(
+      BenchmarkParams benchmarkParams,
+      IterationParams iterationParams,
+      IterationResult result
+  ) {
+    Statistics current = statistics;
+    long operations = result.getMetadata().getAllOps();
+    if (current == null || operations == 0) {
+      return List.of();
+    }
+
+    double statements = current.getPrepareStatementCount() - statementsBefore;
+    return List.of(new ScalarResult("sql.statements.norm", statements / operations,
+        "statements/op", AggregationPolicy.AVG));
+  }
+}
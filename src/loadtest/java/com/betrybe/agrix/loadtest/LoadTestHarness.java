@@ -0,0 +1,418 @@
+package com.betrybe.agrix.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Open-loop HTTP load test replaying a weighted mix of the application routes at a fixed target
+ * rate, recording the latency of each route in an HdrHistogram.
+ *
+ * <p>The application is started on a random port against its own in-memory H2 database (or
+ * --base-url points to one already running) and seeded with farms, crops, fertilizers and their
+ * associations through the public routes. Requests are then sent on a fixed schedule, whether
+ * the previous ones answered or not, and each latency is measured from the time the request was
+ * scheduled to be sent, so a saturated server shows up as growing latencies instead of a lower
+ * request rate (no coordinated omission). Requests that would exceed --max-in-flight are not
+ * sent and are reported as dropped. Latencies of the warmup period are discarded.</p>
+ *
+ * <pre>
+ * ./mvnw -P loadtest compile exec:exec \
+ *     -Dloadtest.main=com.betrybe.agrix.loadtest.LoadTestHarness \
+ *     -Dloadtest.args="--rate=2000 --warmup=10 --duration=60"
+ * </pre>
+ *
+ * <p>Options (all optional): --rate=500 --warmup=10 --duration=60 --farms=50
+ * --crops-per-farm=20 --fertilizers=20 --fertilizers-per-crop=2 --max-in-flight=10000
+ * --report-dir=target/loadtest/&lt;timestamp&gt; --base-url=http://host:port and
+ * --mix=farms=5,farm-crops=30,crop-search=15,crop-fertilizers=30,create-crop=10,add-fertilizer=10
+ * (relative weights; a route left out is not requested). Any --spring.* or --server.* argument
+ * is passed to the application. The report directory gets a report.md with the summary table
+ * and one &lt;route&gt;.hgrm percentile distribution per route, in milliseconds.</p>
+ */
+public final class LoadTestHarness {
+
+  private static final String DEFAULT_MIX =
+      "farms=5,farm-crops=30,crop-search=15,crop-fertilizers=30,create-crop=10,add-fertilizer=10";
+
+  private static final LocalDate FIRST_HARVEST = LocalDate.of(2023, 1, 1);
+
+  private static final int HARVEST_DAYS = 365;
+
+  private static final int SEARCH_WINDOW_DAYS = 30;
+
+  private LoadTestHarness() {}
+
+  /**
+   * Seeds the application, runs the load test and writes the report.
+   *
+   * @param args The load test options, see the class documentation.
+   */
+  public static void main(String[] args) throws Exception {
+    LoadTestSupport.Arguments arguments = LoadTestSupport.parse(args);
+    String baseUrl = arguments.option("base-url", null);
+
+    ConfigurableApplicationContext context = baseUrl == null
+        ? LoadTestSupport.start("agrix-loadtest-harness", arguments.application())
+        : null;
+    try {
+      URI base = context != null ? LoadTestSupport.baseUri(context) : URI.create(baseUrl);
+      HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+      Dataset dataset = seed(http, base, arguments);
+      Map<Route, RouteStats> stats = run(http, base, dataset, arguments);
+      writeReport(stats, arguments);
+    } finally {
+      if (context != null) {
+        context.close();
+      }
+    }
+  }
+
+  private static Dataset seed(HttpClient http, URI base, LoadTestSupport.Arguments arguments)
+      throws Exception {
+    int farms = arguments.intOption("farms", 50);
+    int cropsPerFarm = arguments.intOption("crops-per-farm", 20);
+    int fertilizers = arguments.intOption("fertilizers", 20);
+    int fertilizersPerCrop = arguments.intOption("fertilizers-per-crop", 2);
+    SplittableRandom random = new SplittableRandom(42);
+    Dataset dataset = new Dataset(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+    System.out.printf("Seeding %d farms, %d crops and %d fertilizers%n", farms,
+        farms * cropsPerFarm, fertilizers);
+    for (int i = 0; i < fertilizers; i++) {
+      dataset.fertilizerIds().add(LoadTestSupport.post(http, base.resolve("/fertilizers"),
+          "{\"name\":\"Fertilizante " + i + "\",\"brand\":\"Marca " + i % 5
+              + "\",\"composition\":\"NPK\"}"));
+    }
+    for (int i = 0; i < farms; i++) {
+      long farmId = LoadTestSupport.post(http, base.resolve("/farms"),
+          "{\"name\":\"Fazenda " + i + "\",\"size\":100.0}");
+      dataset.farmIds().add(farmId);
+
+      for (int j = 0; j < cropsPerFarm; j++) {
+        long cropId = LoadTestSupport.post(http, base.resolve("/farms/" + farmId + "/crops"),
+            cropJson(j, random.nextInt(HARVEST_DAYS)));
+        dataset.cropIds().add(cropId);
+        for (int k = 0; k < fertilizersPerCrop && fertilizers > 0; k++) {
+          send(http, HttpRequest.newBuilder(base.resolve("/crops/" + cropId + "/fertilizers/"
+              + dataset.fertilizerId(random)))
+              .POST(HttpRequest.BodyPublishers.noBody())
+              .build());
+        }
+      }
+    }
+    return dataset;
+  }
+
+  private static Map<Route, RouteStats> run(
+      HttpClient http,
+      URI base,
+      Dataset dataset,
+      LoadTestSupport.Arguments arguments
+  ) throws InterruptedException {
+    double rate = Double.parseDouble(arguments.option("rate", "500"));
+    long warmupNanos = TimeUnit.SECONDS.toNanos(arguments.longOption("warmup", 10));
+    long durationNanos = TimeUnit.SECONDS.toNanos(arguments.longOption("duration", 60));
+    int maxInFlight = arguments.intOption("max-in-flight", 10000);
+    Mix mix = Mix.parse(arguments.option("mix", DEFAULT_MIX));
+
+    Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+    for (Route route : mix.routes()) {
+      stats.put(route, new RouteStats());
+    }
+    AtomicInteger inFlight = new AtomicInteger();
+
+    System.out.printf("Sending %.0f req/s for %d s of warmup and %d s measured, mix %s%n", rate,
+        TimeUnit.NANOSECONDS.toSeconds(warmupNanos),
+        TimeUnit.NANOSECONDS.toSeconds(durationNanos), mix);
+
+    long start = System.nanoTime();
+    long measureFrom = start + warmupNanos;
+    long measureUntil = measureFrom + durationNanos;
+    for (long i = 0; ; i++) {
+      long scheduled = start + (long) (i * 1e9 / rate);
+      if (scheduled >= measureUntil) {
+        break;
+      }
+      long wait = scheduled - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+
+      Route route = mix.pick(ThreadLocalRandom.current());
+      RouteStats routeStats = stats.get(route);
+      boolean measured = scheduled >= measureFrom;
+      if (inFlight.get() >= maxInFlight) {
+        if (measured) {
+          routeStats.dropped.increment();
+        }
+        continue;
+      }
+
+      inFlight.incrementAndGet();
+      http.sendAsync(route.request(base, dataset), HttpResponse.BodyHandlers.discarding())
+          .whenComplete((response, error) -> {
+            long latency = System.nanoTime() - scheduled;
+            inFlight.decrementAndGet();
+            if (!measured) {
+              return;
+            }
+            if (error != null || response.statusCode() >= 400) {
+              routeStats.errors.increment();
+            } else {
+              routeStats.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latency));
+            }
+          });
+    }
+
+    long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+      Thread.sleep(10);
+    }
+    for (RouteStats routeStats : stats.values()) {
+      routeStats.seconds = durationNanos / 1e9;
+    }
+    return stats;
+  }
+
+  private static void writeReport(Map<Route, RouteStats> stats, LoadTestSupport.Arguments arguments)
+      throws IOException {
+    Path directory = Path.of(arguments.option("report-dir", "target/loadtest/"
+        + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))));
+    Files.createDirectories(directory);
+
+    RouteStats total = new RouteStats();
+    StringBuilder report = new StringBuilder()
+        .append("| route | requests | errors | dropped | req/s | p50 ms | p90 ms | p99 ms "
+            + "| p99.9 ms | max ms |\n")
+        .append("|---|---|---|---|---|---|---|---|---|---|\n");
+    for (Map.Entry<Route, RouteStats> entry : stats.entrySet()) {
+      RouteStats routeStats = entry.getValue();
+      report.append(row(entry.getKey().toString(), routeStats));
+      total.latencies.add(routeStats.latencies);
+      total.errors.add(routeStats.errors.sum());
+      total.dropped.add(routeStats.dropped.sum());
+      total.seconds = routeStats.seconds;
+
+      try (PrintStream out = new PrintStream(
+          Files.newOutputStream(directory.resolve(entry.getKey().option + ".hgrm")), false,
+          StandardCharsets.UTF_8)) {
+        routeStats.latencies.outputPercentileDistribution(out, 1000.0);
+      }
+    }
+    report.append(row("all", total));
+
+    Files.writeString(directory.resolve("report.md"), report);
+    System.out.println();
+    System.out.print(report);
+    System.out.println();
+    System.out.println("Report written to " + directory.toAbsolutePath());
+  }
+
+  private static String row(String name, RouteStats stats) {
+    Histogram latencies = stats.latencies;
+    long requests = latencies.getTotalCount();
+    return String.format(Locale.ROOT,
+        "| %s | %d | %d | %d | %.0f | %.2f | %.2f | %.2f | %.2f | %.2f |%n",
+        name, requests, stats.errors.sum(), stats.dropped.sum(), requests / stats.seconds,
+        millis(latencies, 50.0), millis(latencies, 90.0), millis(latencies, 99.0),
+        millis(latencies, 99.9), latencies.getMaxValue() / 1000.0);
+  }
+
+  private static double millis(Histogram latencies, double percentile) {
+    return latencies.getTotalCount() == 0
+        ? Double.NaN
+        : latencies.getValueAtPercentile(percentile) / 1000.0;
+  }
+
+  private static void send(HttpClient http, HttpRequest request) throws Exception {
+    HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() >= 400) {
+      throw new IllegalStateException("Seeding " + request.uri() + " failed: "
+          + response.statusCode() + " " + response.body());
+    }
+  }
+
+  private static String cropJson(int index, int harvestDay) {
+    LocalDate harvestDate = FIRST_HARVEST.plusDays(harvestDay);
+    return "{\"name\":\"Plantação " + index + "\",\"plantedArea\":" + (index % 10 + 1)
+        + ",\"plantedDate\":\"" + harvestDate.minusDays(90) + "\",\"harvestDate\":\""
+        + harvestDate + "\"}";
+  }
+
+  /**
+   * The routes the load test can request, named in the --mix option by their lower case,
+   * dash-separated name.
+   */
+  enum Route {
+    FARMS("GET /farms"),
+    FARM_CROPS("GET /farms/{id}/crops"),
+    CROP_SEARCH("GET /crops/search"),
+    CROP_FERTILIZERS("GET /crops/{id}/fertilizers"),
+    CREATE_CROP("POST /farms/{id}/crops"),
+    ADD_FERTILIZER("POST /crops/{id}/fertilizers/{id}");
+
+    private final String path;
+
+    private final String option;
+
+    Route(String path) {
+      this.path = path;
+      this.option = name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    static Route fromOption(String option) {
+      for (Route route : values()) {
+        if (route.option.equals(option)) {
+          return route;
+        }
+      }
+      throw new IllegalArgumentException("Unknown route " + option + " in --mix");
+    }
+
+    HttpRequest request(URI base, Dataset dataset) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      return switch (this) {
+        case FARMS -> get(base.resolve("/farms"));
+        case FARM_CROPS -> get(base.resolve("/farms/" + dataset.farmId(random) + "/crops"));
+        case CROP_SEARCH -> {
+          LocalDate start = FIRST_HARVEST.plusDays(random.nextInt(HARVEST_DAYS));
+          yield get(base.resolve("/crops/search?start=" + start + "&end="
+              + start.plusDays(SEARCH_WINDOW_DAYS)));
+        }
+        case CROP_FERTILIZERS -> get(base.resolve("/crops/" + dataset.cropId(random)
+            + "/fertilizers"));
+        case CREATE_CROP -> HttpRequest.newBuilder(base.resolve("/farms/"
+                + dataset.farmId(random) + "/crops"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(
+                cropJson(random.nextInt(1000), random.nextInt(HARVEST_DAYS))))
+            .build();
+        case ADD_FERTILIZER -> HttpRequest.newBuilder(base.resolve("/crops/"
+                + dataset.cropId(random) + "/fertilizers/" + dataset.fertilizerId(random)))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+      };
+    }
+
+    private static HttpRequest get(URI uri) {
+      return HttpRequest.newBuilder(uri).GET().build();
+    }
+
+    @Override
+    public String toString() {
+      return path;
+    }
+  }
+
+  /**
+   * The ids created while seeding, picked at random by the requests.
+   */
+  record Dataset(List<Long> farmIds, List<Long> cropIds, List<Long> fertilizerIds) {
+
+    long farmId(RandomGenerator random) {
+      return farmIds.get(random.nextInt(farmIds.size()));
+    }
+
+    long cropId(RandomGenerator random) {
+      return cropIds.get(random.nextInt(cropIds.size()));
+    }
+
+    long fertilizerId(RandomGenerator random) {
+      return fertilizerIds.get(random.nextInt(fertilizerIds.size()));
+    }
+  }
+
+  /**
+   * The routes of the mix with their cumulative weights.
+   */
+  record Mix(Route[] routes, int[] cumulativeWeights) {
+
+    static Mix parse(String option) {
+      Map<Route, Integer> weights = new EnumMap<>(Route.class);
+      for (String entry : option.split(",")) {
+        String[] parts = entry.trim().split("=");
+        if (parts.length != 2) {
+          throw new IllegalArgumentException("Expected route=weight in --mix, got " + entry);
+        }
+        int weight = Integer.parseInt(parts[1]);
+        if (weight > 0) {
+          weights.put(Route.fromOption(parts[0]), weight);
+        }
+      }
+      if (weights.isEmpty()) {
+        throw new IllegalArgumentException("--mix must give a positive weight to a route");
+      }
+
+      Route[] routes = weights.keySet().toArray(Route[]::new);
+      int[] cumulative = new int[routes.length];
+      int sum = 0;
+      for (int i = 0; i < routes.length; i++) {
+        sum += weights.get(routes[i]);
+        cumulative[i] = sum;
+      }
+      return new Mix(routes, cumulative);
+    }
+
+    Route pick(RandomGenerator random) {
+      int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+      for (int i = 0; i < cumulativeWeights.length; i++) {
+        if (value < cumulativeWeights[i]) {
+          return routes[i];
+        }
+      }
+      throw new IllegalStateException("Unreachable");
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder text = new StringBuilder();
+      int previous = 0;
+      for (int i = 0; i < routes.length; i++) {
+        text.append(i == 0 ? "" : ",").append(routes[i].option).append('=')
+            .append(cumulativeWeights[i] - previous);
+        previous = cumulativeWeights[i];
+      }
+      return text.toString();
+    }
+  }
+
+  /**
+   * Latencies, in microseconds, and failures of a route during the measured period.
+   */
+  private static final class RouteStats {
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private double seconds;
+  }
+}
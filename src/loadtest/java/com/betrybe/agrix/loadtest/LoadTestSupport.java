@@ -0,0 +1,135 @@
+package com.betrybe.agrix.loadtest;
+
+import com.betrybe.agrix.AgrixApplication;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Helpers shared by the load tests: parsing their --name=value options, starting the application
+ * on a random port against its own in-memory H2 database, and seeding it through the public
+ * routes.
+ */
+final class LoadTestSupport {
+
+  private static final Pattern OPTION = Pattern.compile("--([^=]+)=(.*)");
+
+  private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+  private LoadTestSupport() {}
+
+  /**
+   * Splits the command line into the options of the load test and the --spring.* and
+   * --server.* arguments, which are passed to the application.
+   *
+   * @param args The command line arguments.
+   * @return The parsed arguments.
+   * @throws IllegalArgumentException If an argument is not in the --name=value form.
+   */
+  static Arguments parse(String[] args) {
+    Map<String, String> options = new LinkedHashMap<>();
+    Map<String, String> application = new LinkedHashMap<>();
+    for (String arg : args) {
+      Matcher matcher = OPTION.matcher(arg);
+      if (!matcher.matches()) {
+        throw new IllegalArgumentException("Expected --name=value, got " + arg);
+      }
+      boolean forApplication = matcher.group(1).startsWith("spring.")
+          || matcher.group(1).startsWith("server.");
+      (forApplication ? application : options).put(matcher.group(1), matcher.group(2));
+    }
+    return new Arguments(options, application);
+  }
+
+  /**
+   * Starts the application on a random port against a new in-memory H2 database, without SQL
+   * logging.
+   *
+   * @param database   The name of the in-memory database.
+   * @param properties Properties overriding the defaults, such as the parsed application
+   *                   arguments.
+   * @return The running application context.
+   */
+  static ConfigurableApplicationContext start(String database, Map<String, String> properties) {
+    System.setProperty("spring.devtools.restart.enabled", "false");
+
+    Map<String, String> merged = new LinkedHashMap<>();
+    merged.put("server.port", "0");
+    merged.put("server.tomcat.max-connections", "20000");
+    merged.put("server.tomcat.accept-count", "1000");
+    merged.put("spring.datasource.url", "jdbc:h2:mem:" + database
+        + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+    merged.put("spring.datasource.driver-class-name", "org.h2.Driver");
+    merged.put("spring.datasource.username", "sa");
+    merged.put("spring.datasource.password", "");
+    merged.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+    merged.put("spring.jpa.show-sql", "false");
+    merged.put("spring.jpa.properties.hibernate.generate_statistics", "false");
+    merged.put("spring.devtools.livereload.enabled", "false");
+    merged.put("logging.level.root", "warn");
+    merged.putAll(properties);
+
+    String[] springArgs = merged.entrySet().stream()
+        .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+        .toArray(String[]::new);
+    return SpringApplication.run(AgrixApplication.class, springArgs);
+  }
+
+  /**
+   * Returns the base URI of a running application.
+   */
+  static URI baseUri(ConfigurableApplicationContext context) {
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    return URI.create("http://localhost:" + port);
+  }
+
+  /**
+   * Posts a JSON body to a creation route and returns the id of the created resource.
+   *
+   * @throws IllegalStateException If the route does not answer 201 with an id.
+   */
+  static long post(HttpClient http, URI uri, String json) throws Exception {
+    HttpResponse<String> response = http.send(
+        HttpRequest.newBuilder(uri)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build(),
+        HttpResponse.BodyHandlers.ofString());
+
+    Matcher id = ID.matcher(response.body());
+    if (response.statusCode() != 201 || !id.find()) {
+      throw new IllegalStateException("Seeding " + uri + " failed: " + response.statusCode()
+          + " " + response.body());
+    }
+    return Long.parseLong(id.group(1));
+  }
+
+  /**
+   * The parsed command line of a load test.
+   *
+   * @param options     The options of the load test, by name.
+   * @param application The arguments passed to the application, by property name.
+   */
+  record Arguments(Map<String, String> options, Map<String, String> application) {
+
+    String option(String name, String defaultValue) {
+      return options.getOrDefault(name, defaultValue);
+    }
+
+    int intOption(String name, int defaultValue) {
+      return Integer.parseInt(option(name, String.valueOf(defaultValue)));
+    }
+
+    long longOption(String name, long defaultValue) {
+      return Long.parseLong(option(name, String.valueOf(defaultValue)));
+    }
+  }
+}
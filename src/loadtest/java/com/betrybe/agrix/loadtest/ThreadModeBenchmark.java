@@ -0,0 +1,201 @@
+package com.betrybe.agrix.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Closed-loop HTTP benchmark comparing request throughput and latency between the default
+ * platform thread pool and the virtual thread mode (see VirtualThreadsConfig).
+ *
+ * <p>For each mode, the application is started on a random port against its own in-memory H2
+ * database with the same Hikari pool size, seeded through the public routes, and then hit by
+ * the given number of concurrent clients, each sending its next GET as soon as the previous one
+ * answers. Latencies of the warmup period are discarded.</p>
+ *
+ * <pre>
+ * ./mvnw -P loadtest compile exec:exec -Dloadtest.args="--clients=1000 --warmup=10 --duration=30"
+ * </pre>
+ *
+ * <p>Options (all optional): --modes=platform,virtual --clients=1000 --warmup=10 --duration=30
+ * --farms=50 --crops-per-farm=20 --pool=50. Any --spring.* or --server.* argument is passed to
+ * the application, e.g. --spring.datasource.url=... to benchmark against MySQL, where JDBC waits
+ * are long enough to saturate the platform pool. The client runs in the same JVM as the server,
+ * so compare modes with each other, not with production numbers.</p>
+ */
+public final class ThreadModeBenchmark {
+
+  private ThreadModeBenchmark() {}
+
+  /**
+   * Runs the benchmark for each mode and prints the comparison.
+   *
+   * @param args The benchmark options, see the class documentation.
+   */
+  public static void main(String[] args) throws Exception {
+    LoadTestSupport.Arguments arguments = LoadTestSupport.parse(args);
+
+    List<String> results = new ArrayList<>();
+    for (String mode : arguments.option("modes", "platform,virtual").split(",")) {
+      results.add(run(mode.trim(), arguments));
+    }
+
+    System.out.println();
+    System.out.println("| mode | clients | requests | errors | req/s | p50 ms | p99 ms | p99.9 ms "
+        + "| max ms |");
+    System.out.println("|---|---|---|---|---|---|---|---|---|");
+    results.forEach(System.out::println);
+  }
+
+  private static String run(String mode, LoadTestSupport.Arguments arguments) throws Exception {
+    int clients = arguments.intOption("clients", 1000);
+    long warmupNanos = TimeUnit.SECONDS.toNanos(arguments.longOption("warmup", 10));
+    long durationNanos = TimeUnit.SECONDS.toNanos(arguments.longOption("duration", 30));
+
+    Map<String, String> properties = new LinkedHashMap<>();
+    properties.put("spring.datasource.hikari.maximum-pool-size",
+        arguments.option("pool", "50"));
+    properties.put("agrix.threads.virtual", String.valueOf("virtual".equals(mode)));
+    properties.putAll(arguments.application());
+
+    ConfigurableApplicationContext context =
+        LoadTestSupport.start("agrix-loadtest-" + mode, properties);
+
+    try (context) {
+      URI base = LoadTestSupport.baseUri(context);
+      HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+      List<URI> targets = seed(http, base, arguments);
+
+      System.out.printf("%s: %d clients, %d s warmup, %d s measured%n", mode, clients,
+          TimeUnit.NANOSECONDS.toSeconds(warmupNanos),
+          TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+
+      long measureFrom = System.nanoTime() + warmupNanos;
+      long measureUntil = measureFrom + durationNanos;
+      List<Client> running = new ArrayList<>();
+      for (int i = 0; i < clients; i++) {
+        Client client = new Client(http, targets, measureFrom, measureUntil);
+        client.next();
+        running.add(client);
+      }
+      CompletableFuture.allOf(running.stream().map(c -> c.done)
+          .toArray(CompletableFuture[]::new)).join();
+
+      long[] latencies = running.stream()
+          .flatMapToLong(c -> Arrays.stream(c.latencies, 0, c.count))
+          .sorted()
+          .toArray();
+      long errors = running.stream().mapToLong(c -> c.errors).sum();
+      double seconds = durationNanos / 1e9;
+
+      return String.format("| %s | %d | %d | %d | %.0f | %.2f | %.2f | %.2f | %.2f |",
+          mode, clients, latencies.length, errors, latencies.length / seconds,
+          percentile(latencies, 0.50), percentile(latencies, 0.99),
+          percentile(latencies, 0.999), percentile(latencies, 1.0));
+    }
+  }
+
+  /**
+   * Creates farms with crops through the public routes and returns the GET routes to replay.
+   */
+  private static List<URI> seed(HttpClient http, URI base, LoadTestSupport.Arguments arguments)
+      throws Exception {
+    int farms = arguments.intOption("farms", 50);
+    int cropsPerFarm = arguments.intOption("crops-per-farm", 20);
+    List<URI> targets = new ArrayList<>();
+
+    for (int farm = 0; farm < farms; farm++) {
+      long farmId = LoadTestSupport.post(http, base.resolve("/farms"),
+          "{\"name\":\"Fazenda " + farm + "\",\"size\":100.0}");
+      targets.add(base.resolve("/farms/" + farmId + "/crops"));
+
+      for (int crop = 0; crop < cropsPerFarm; crop++) {
+        long cropId = LoadTestSupport.post(http, base.resolve("/farms/" + farmId + "/crops"),
+            "{\"name\":\"Plantação " + crop + "\",\"plantedArea\":" + (crop + 1)
+                + ",\"plantedDate\":\"2023-01-01\",\"harvestDate\":\"2023-0"
+                + (crop % 9 + 1) + "-15\"}");
+        targets.add(base.resolve("/crops/" + cropId));
+      }
+    }
+    targets.add(base.resolve("/crops/search?start=2023-03-01&end=2023-05-31"));
+    return targets;
+  }
+
+  private static double percentile(long[] sortedNanos, double quantile) {
+    if (sortedNanos.length == 0) {
+      return Double.NaN;
+    }
+    int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+    return sortedNanos[Math.max(0, index)] / 1e6;
+  }
+
+  /**
+   * A client that sends one request at a time. Its requests never overlap, so the latency
+   * buffer is only touched by one completion at a time.
+   */
+  private static final class Client {
+
+    private final HttpClient http;
+
+    private final List<URI> targets;
+
+    private final long measureFrom;
+
+    private final long measureUntil;
+
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private long[] latencies = new long[1024];
+
+    private int count;
+
+    private long errors;
+
+    private Client(HttpClient http, List<URI> targets, long measureFrom, long measureUntil) {
+      this.http = http;
+      this.targets = targets;
+      this.measureFrom = measureFrom;
+      this.measureUntil = measureUntil;
+    }
+
+    private void next() {
+      long start = System.nanoTime();
+      if (start >= measureUntil) {
+        done.complete(null);
+        return;
+      }
+
+      URI target = targets.get(ThreadLocalRandom.current().nextInt(targets.size()));
+      http.sendAsync(HttpRequest.newBuilder(target).GET().build(),
+              HttpResponse.BodyHandlers.discarding())
+          .whenComplete((response, error) -> {
+            long latency = System.nanoTime() - start;
+            if (start >= measureFrom) {
+              if (error != null || response.statusCode() >= 400) {
+                errors++;
+              } else {
+                record(latency);
+              }
+            }
+            next();
+          });
+    }
+
+    private void record(long latency) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latency;
+    }
+  }
+}
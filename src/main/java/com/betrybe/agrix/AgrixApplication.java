@@ -2,14 +2,25 @@ package com.betrybe.agrix;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 /**
- * Application main class.
+ * Application main class. The R2DBC auto-configurations are excluded because an auto-configured
+ * ConnectionFactory would replace the JDBC DataSource; the reactive read API configures its own
+ * connections in ReactiveReadConfig.
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = {
+    R2dbcAutoConfiguration.class,
+    R2dbcDataAutoConfiguration.class,
+    R2dbcRepositoriesAutoConfiguration.class,
+    R2dbcTransactionManagerAutoConfiguration.class
+})
 @EntityScan({
     "com.betrybe.agrix.models.entities",
     "com.betrybe.agrix.ebytr.staff.entity"
@@ -0,0 +1,46 @@
+package com.betrybe.agrix.config;
+
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the Flyway migrations that own the database schema.
+ */
+@Configuration
+public class FlywayConfig {
+
+  /**
+   * Drops every object of the schema before migrating it, so each application context starts
+   * from an empty database. Only enabled when agrix.flyway.clean-before-migrate is true (the test
+   * profile); Flyway itself also refuses to clean unless spring.flyway.clean-disabled is false.
+   */
+  @Bean
+  @ConditionalOnProperty(name = "agrix.flyway.clean-before-migrate", havingValue = "true")
+  public FlywayMigrationStrategy cleanBeforeMigrateStrategy() {
+    return flyway -> {
+      flyway.clean();
+      flyway.migrate();
+    };
+  }
+
+  /**
+   * Migration aligning the schemas created by ddl-auto=update, baselined at version 1, with the
+   * schema of migration V1; Flyway runs it along with the SQL migrations.
+   */
+  @Bean
+  public JavaMigration legacySchemaMigration() {
+    return new LegacySchemaMigration();
+  }
+
+  /**
+   * Migration copying the crop/fertilizer links left in the legacy crop_fertilizers table; Flyway
+   * runs it along with the SQL migrations.
+   */
+  @Bean
+  public JavaMigration legacyCropFertilizerLinksMigration() {
+    return new LegacyCropFertilizerLinksMigration();
+  }
+}
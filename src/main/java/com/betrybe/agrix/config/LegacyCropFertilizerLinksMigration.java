@@ -0,0 +1,73 @@
+package com.betrybe.agrix.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+/**
+ * Migration V5, which recovers the crop/fertilizer links of databases created by
+ * ddl-auto=update before Crop.fertilizers became the single owning side of the association.
+ * Until then the links added through POST /crops/{cropId}/fertilizers/{fertilizerId} were stored
+ * in crop_fertilizers (crop_id, fertilizers_id), the default join table of Hibernate, which the
+ * mapping no longer reads. Such databases reach this migration through the baseline at version
+ * 1 (see {@link LegacySchemaMigration}).
+ *
+ * <p>When that table exists, its links missing from crop_fertilizer are copied and the table is
+ * dropped; on any other database, such as the ones created by the migrations alone, the
+ * migration does nothing. It is written in Java because the copy depends on the table
+ * existing, which plain SQL cannot check on both H2 and MySQL.</p>
+ */
+public class LegacyCropFertilizerLinksMigration implements JavaMigration {
+
+  static final String LEGACY_TABLE = "crop_fertilizers";
+
+  @Override
+  public MigrationVersion getVersion() {
+    return MigrationVersion.fromVersion("5");
+  }
+
+  @Override
+  public String getDescription() {
+    return "copy legacy crop fertilizer links";
+  }
+
+  @Override
+  public Integer getChecksum() {
+    return null;
+  }
+
+  @Override
+  public boolean canExecuteInTransaction() {
+    return true;
+  }
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    if (!tableExists(connection, LEGACY_TABLE)) {
+      return;
+    }
+
+    try (Statement statement = connection.createStatement()) {
+      statement.executeUpdate("INSERT INTO crop_fertilizer (crop_id, fertilizer_id) "
+          + "SELECT DISTINCT l.crop_id, l.fertilizers_id FROM " + LEGACY_TABLE + " l "
+          + "WHERE NOT EXISTS (SELECT 1 FROM crop_fertilizer c "
+          + "WHERE c.crop_id = l.crop_id AND c.fertilizer_id = l.fertilizers_id)");
+      statement.executeUpdate("DROP TABLE " + LEGACY_TABLE);
+    }
+  }
+
+  private static boolean tableExists(Connection connection, String table) throws SQLException {
+    DatabaseMetaData metaData = connection.getMetaData();
+    String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+    try (ResultSet tables = metaData.getTables(
+        connection.getCatalog(), connection.getSchema(), name, new String[] {"TABLE"})) {
+      return tables.next();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.betrybe.agrix.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+/**
+ * Migration V1.1, which brings a schema created by ddl-auto=update to the shape of migration V1.
+ * Flyway baselines such a schema at version 1 (spring.flyway.baseline-on-migrate), so V1 never
+ * runs on it: its tables and columns already match, but crop_fertilizer was created as a list
+ * without a primary key, possibly holding repeated links, and the indexes of V1 are missing.
+ *
+ * <p>Each step checks the database first, so on a schema created by V1 the migration does
+ * nothing. It is written in Java because those checks cannot be expressed in plain SQL that runs
+ * on both H2 and MySQL.</p>
+ */
+public class LegacySchemaMigration implements JavaMigration {
+
+  @Override
+  public MigrationVersion getVersion() {
+    return MigrationVersion.fromVersion("1.1");
+  }
+
+  @Override
+  public String getDescription() {
+    return "align schema created by ddl-auto";
+  }
+
+  @Override
+  public Integer getChecksum() {
+    return null;
+  }
+
+  @Override
+  public boolean canExecuteInTransaction() {
+    return true;
+  }
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    try (Statement statement = connection.createStatement()) {
+      if (!hasPrimaryKey(connection, "crop_fertilizer")) {
+        rebuildCropFertilizer(statement);
+      }
+      if (!hasIndex(connection, "crop", "idx_crop_farm_id")) {
+        statement.executeUpdate("CREATE INDEX idx_crop_farm_id ON crop (farm_id)");
+      }
+      if (!hasIndex(connection, "crop", "idx_crop_harvest_date")) {
+        statement.executeUpdate("CREATE INDEX idx_crop_harvest_date ON crop (harvest_date)");
+      }
+    }
+  }
+
+  /**
+   * Recreates crop_fertilizer as in V1, keeping each of its links once.
+   */
+  private static void rebuildCropFertilizer(Statement statement) throws SQLException {
+    statement.executeUpdate("CREATE TABLE crop_fertilizer_legacy AS "
+        + "SELECT DISTINCT crop_id, fertilizer_id FROM crop_fertilizer");
+    statement.executeUpdate("DROP TABLE crop_fertilizer");
+    statement.executeUpdate("CREATE TABLE crop_fertilizer ("
+        + "crop_id BIGINT NOT NULL, "
+        + "fertilizer_id BIGINT NOT NULL, "
+        + "PRIMARY KEY (crop_id, fertilizer_id))");
+    statement.executeUpdate("CREATE INDEX idx_crop_fertilizer_fertilizer_id "
+        + "ON crop_fertilizer (fertilizer_id, crop_id)");
+    statement.executeUpdate("INSERT INTO crop_fertilizer (crop_id, fertilizer_id) "
+        + "SELECT crop_id, fertilizer_id FROM crop_fertilizer_legacy");
+    statement.executeUpdate("DROP TABLE crop_fertilizer_legacy");
+    statement.executeUpdate("ALTER TABLE crop_fertilizer ADD CONSTRAINT fk_crop_fertilizer_crop "
+        + "FOREIGN KEY (crop_id) REFERENCES crop (id)");
+    statement.executeUpdate("ALTER TABLE crop_fertilizer "
+        + "ADD CONSTRAINT fk_crop_fertilizer_fertilizer "
+        + "FOREIGN KEY (fertilizer_id) REFERENCES fertilizer (id)");
+  }
+
+  private static boolean hasPrimaryKey(Connection connection, String table) throws SQLException {
+    DatabaseMetaData metaData = connection.getMetaData();
+    try (ResultSet keys = metaData.getPrimaryKeys(
+        connection.getCatalog(), connection.getSchema(), identifier(metaData, table))) {
+      return keys.next();
+    }
+  }
+
+  private static boolean hasIndex(Connection connection, String table, String index)
+      throws SQLException {
+    DatabaseMetaData metaData = connection.getMetaData();
+    try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(),
+        connection.getSchema(), identifier(metaData, table), false, false)) {
+      while (indexes.next()) {
+        if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+    return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+  }
+}
@@ -0,0 +1,12 @@
+package com.betrybe.agrix.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the settings of the username cache of PersonService, see {@link PersonCacheProperties}.
+ */
+@Configuration
+@EnableConfigurationProperties(PersonCacheProperties.class)
+public class PersonCacheConfig {
+}
@@ -0,0 +1,20 @@
+package com.betrybe.agrix.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Size and time-to-live of the username cache of PersonService, bound from the
+ * agrix.cache.person.* properties.
+ *
+ * @param maxSize     Maximum number of usernames kept in the cache.
+ * @param ttl         Time a found person stays in the cache.
+ * @param negativeTtl Time an unknown username stays in the cache.
+ */
+@ConfigurationProperties("agrix.cache.person")
+public record PersonCacheProperties(
+    @DefaultValue("10000") long maxSize,
+    @DefaultValue("5m") Duration ttl,
+    @DefaultValue("30s") Duration negativeTtl
+) {}
@@ -0,0 +1,58 @@
+package com.betrybe.agrix.config;
+
+import com.betrybe.agrix.monitoring.QueryBudgetFilter;
+import com.betrybe.agrix.monitoring.StatementCountingListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Opt-in statement budgets (agrix.query-budget.enabled=true, off by default and on in the test
+ * profile): the JDBC DataSource is wrapped by datasource-proxy, which counts every statement the
+ * application executes, whether issued by Hibernate, Flyway or a JdbcTemplate, and each HTTP
+ * request is checked against the budget of its route.
+ */
+@Configuration
+@ConditionalOnProperty(name = "agrix.query-budget.enabled", havingValue = "true")
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class QueryBudgetConfig {
+
+  /**
+   * Wraps each pooled DataSource in a proxy counting its statements. The proxy unwraps to the
+   * pool, so the pool metrics still find it. DataSources delegating to other beans, such as the
+   * read replica routing, are left alone so no statement is counted twice.
+   */
+  @Bean
+  public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+            || bean instanceof DelegatingDataSource || bean instanceof AbstractRoutingDataSource) {
+          return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+            .name(beanName)
+            .listener(new StatementCountingListener())
+            .build();
+      }
+    };
+  }
+
+  /**
+   * Filter counting the statements of each request against the budget of its route.
+   */
+  @Bean
+  public QueryBudgetFilter queryBudgetFilter(QueryBudgetProperties properties,
+      MeterRegistry meterRegistry) {
+    return new QueryBudgetFilter(properties.routes(), properties.defaultBudget(), meterRegistry);
+  }
+}
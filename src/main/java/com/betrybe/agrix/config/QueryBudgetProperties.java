@@ -0,0 +1,21 @@
+package com.betrybe.agrix.config;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Budgets of SQL statements per HTTP request, bound from the agrix.query-budget.* properties.
+ *
+ * @param defaultBudget The budget of the routes without one of their own, or null for no limit.
+ * @param routes        The budgets per route, as "METHOD /pattern=statements", e.g.
+ *                      "GET /crops/{cropId}/fertilizers=1".
+ * @param header        Whether responses carry the statements of the request in the
+ *                      X-Query-Count header.
+ */
+@ConfigurationProperties("agrix.query-budget")
+public record QueryBudgetProperties(
+    Integer defaultBudget,
+    @DefaultValue List<String> routes,
+    @DefaultValue("false") boolean header
+) {}
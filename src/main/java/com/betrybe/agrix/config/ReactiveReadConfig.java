@@ -0,0 +1,126 @@
+package com.betrybe.agrix.config;
+
+import com.betrybe.agrix.controllers.reactive.ReactiveReadHandler;
+import com.betrybe.agrix.models.reactive.CropReactiveRepository;
+import com.betrybe.agrix.models.reactive.FarmReactiveRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+/**
+ * Opt-in reactive read API (agrix.reactive.enabled=true): a Reactor Netty server, next to the
+ * servlet container, that serves the GET routes of farms and crops from R2DBC repositories.
+ *
+ * <p>The R2DBC connection pool is deliberately not exposed as a ConnectionFactory bean: Spring
+ * Boot stops configuring the JDBC DataSource, used by JPA and Flyway, as soon as one exists. For
+ * the same reason the R2DBC auto-configurations are excluded by the application class.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "agrix.reactive.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReactiveReadProperties.class)
+@EnableR2dbcRepositories(
+    basePackages = "com.betrybe.agrix.models.reactive",
+    entityOperationsRef = "reactiveEntityTemplate"
+)
+public class ReactiveReadConfig {
+
+  /**
+   * Creates the pool of R2DBC connections, closed together with the context.
+   *
+   * @throws IllegalStateException If agrix.reactive.r2dbc.url is not set.
+   */
+  @Bean(destroyMethod = "dispose")
+  public ReactiveConnectionPool reactiveConnectionPool(ReactiveReadProperties properties) {
+    ReactiveReadProperties.R2dbc r2dbc = properties.r2dbc();
+    if (!StringUtils.hasText(r2dbc.url())) {
+      throw new IllegalStateException(
+          "agrix.reactive.enabled=true requires agrix.reactive.r2dbc.url to be set");
+    }
+
+    ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions
+        .parse(r2dbc.url())
+        .mutate();
+    if (StringUtils.hasText(r2dbc.username())) {
+      options.option(ConnectionFactoryOptions.USER, r2dbc.username());
+    }
+    if (r2dbc.password() != null) {
+      options.option(ConnectionFactoryOptions.PASSWORD, r2dbc.password());
+    }
+
+    ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration
+        .builder(ConnectionFactories.get(options.build()))
+        .maxSize(r2dbc.maxPoolSize())
+        .build();
+    return new ReactiveConnectionPool(new ConnectionPool(configuration));
+  }
+
+  /**
+   * Entity operations backing the R2DBC repositories.
+   */
+  @Bean
+  public R2dbcEntityTemplate reactiveEntityTemplate(ReactiveConnectionPool reactiveConnectionPool) {
+    return new R2dbcEntityTemplate(reactiveConnectionPool.pool());
+  }
+
+  /**
+   * Handlers of the reactive read routes.
+   */
+  @Bean
+  public ReactiveReadHandler reactiveReadHandler(
+      FarmReactiveRepository farmReactiveRepository,
+      CropReactiveRepository cropReactiveRepository
+  ) {
+    return new ReactiveReadHandler(farmReactiveRepository, cropReactiveRepository);
+  }
+
+  /**
+   * Creates the server of the reactive read API, encoding the DTOs with the application
+   * ObjectMapper so both APIs write the same JSON.
+   */
+  @Bean
+  public ReactiveReadServer reactiveReadServer(
+      ReactiveReadHandler reactiveReadHandler,
+      ObjectMapper objectMapper,
+      ReactiveReadProperties properties
+  ) {
+    HandlerStrategies strategies = HandlerStrategies.builder()
+        .codecs(codecs -> {
+          codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+          codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+        })
+        .build();
+    return new ReactiveReadServer(
+        RouterFunctions.toHttpHandler(reactiveReadHandler.routes(), strategies),
+        properties.address(),
+        properties.port()
+    );
+  }
+
+  /**
+   * Holder of the R2DBC connection pool, which must not be a ConnectionFactory bean itself.
+   *
+   * @param pool The connection pool.
+   */
+  public record ReactiveConnectionPool(ConnectionPool pool) {
+
+    /**
+     * Closes every connection of the pool.
+     */
+    public void dispose() {
+      pool.dispose();
+    }
+  }
+}
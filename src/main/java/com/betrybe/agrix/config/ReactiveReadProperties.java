@@ -0,0 +1,34 @@
+package com.betrybe.agrix.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the reactive read server, bound from the agrix.reactive.* properties.
+ *
+ * @param address The address the server binds to, or null for every interface.
+ * @param port    The port the server listens on, or 0 for a random free port.
+ * @param r2dbc   The connection settings of the R2DBC repositories.
+ */
+@ConfigurationProperties("agrix.reactive")
+public record ReactiveReadProperties(
+    String address,
+    @DefaultValue("8081") int port,
+    @DefaultValue R2dbc r2dbc
+) {
+
+  /**
+   * Connection settings of the R2DBC repositories.
+   *
+   * @param url         The R2DBC url of the database, e.g. r2dbc:mysql://localhost:3306/agrixdb.
+   * @param username    The user of the database.
+   * @param password    The password of the user.
+   * @param maxPoolSize Maximum number of connections kept by the pool.
+   */
+  public record R2dbc(
+      String url,
+      String username,
+      String password,
+      @DefaultValue("10") int maxPoolSize
+  ) {}
+}
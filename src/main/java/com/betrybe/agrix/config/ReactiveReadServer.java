@@ -0,0 +1,64 @@
+package com.betrybe.agrix.config;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Reactor Netty server of the reactive read API. It runs next to the servlet container, on its
+ * own port and event loop threads, and is started and stopped with the application context.
+ */
+public class ReactiveReadServer implements SmartLifecycle {
+
+  private final HttpHandler httpHandler;
+
+  private final String address;
+
+  private final int port;
+
+  private volatile DisposableServer server;
+
+  /**
+   * Creates a server for the handler, bound to the address and port when started.
+   */
+  public ReactiveReadServer(HttpHandler httpHandler, String address, int port) {
+    this.httpHandler = httpHandler;
+    this.address = address;
+    this.port = port;
+  }
+
+  @Override
+  public void start() {
+    HttpServer httpServer = HttpServer.create().port(port);
+    if (address != null) {
+      httpServer = httpServer.host(address);
+    }
+    server = httpServer.handle(new ReactorHttpHandlerAdapter(httpHandler)).bindNow();
+  }
+
+  @Override
+  public void stop() {
+    DisposableServer running = server;
+    if (running != null) {
+      running.disposeNow();
+      server = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return server != null;
+  }
+
+  /**
+   * Returns the port the server is listening on, resolving a random port once started.
+   *
+   * @return The bound port, or the configured one if the server is not running.
+   */
+  public int getPort() {
+    DisposableServer running = server;
+    return running != null ? running.port() : port;
+  }
+}
@@ -0,0 +1,123 @@
+package com.betrybe.agrix.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * Opt-in read replica (agrix.datasource.replica.enabled=true): the services' read-only
+ * transactions read from a replica pool, while writes, Flyway and everything outside a
+ * read-only transaction use the primary pool configured by spring.datasource.*.
+ *
+ * <p>Read-only transactions also make Hibernate open the session read-only with a manual flush
+ * mode, so the entities they load are neither snapshotted for dirty checking nor flushed. The
+ * ones routed to the replica do not fill the second-level cache either, see
+ * {@link ReplicaReadJpaDialect}.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "agrix.datasource.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+  /**
+   * Pool of connections to the primary, configured like the default one by spring.datasource.*
+   * and spring.datasource.hikari.*.
+   */
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    dataSource.setPoolName("agrix-primary");
+    return dataSource;
+  }
+
+  /**
+   * Pool of connections to the replica.
+   *
+   * @throws IllegalStateException If agrix.datasource.replica.url is not set.
+   */
+  @Bean
+  public HikariDataSource replicaDataSource(ReadReplicaProperties properties) {
+    if (!StringUtils.hasText(properties.url())) {
+      throw new IllegalStateException(
+          "agrix.datasource.replica.enabled=true requires agrix.datasource.replica.url to be set");
+    }
+
+    HikariDataSource dataSource = DataSourceBuilder.create()
+        .type(HikariDataSource.class)
+        .url(properties.url())
+        .username(properties.username())
+        .password(properties.password())
+        .build();
+    dataSource.setPoolName("agrix-replica");
+    dataSource.setMaximumPoolSize(properties.maxPoolSize());
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  /**
+   * The DataSource of the application, routing each transaction to the primary or the replica
+   * when it executes its first statement.
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primaryDataSource,
+      @Qualifier("replicaDataSource") DataSource replicaDataSource
+  ) {
+    return new LazyConnectionDataSourceProxy(
+        new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource));
+  }
+
+  /**
+   * Makes the JPA transaction manager begin its transactions with the
+   * {@link ReplicaReadJpaDialect}. It is set after the manager is initialized, which otherwise
+   * takes the dialect of the entity manager factory.
+   */
+  @Bean
+  public static BeanPostProcessor replicaReadJpaDialectPostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof JpaTransactionManager transactionManager) {
+          transactionManager.setJpaDialect(new ReplicaReadJpaDialect());
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Propagates the primary pin of the request thread to the asynchronous tasks it submits. Spring
+   * Boot applies it to the application task executor, which runs the asynchronous MVC responses,
+   * and {@link VirtualThreadsConfig} to its own executor.
+   */
+  @Bean
+  public TaskDecorator readsFromPrimaryTaskDecorator() {
+    return new ReadsFromPrimaryTaskDecorator();
+  }
+
+  /**
+   * Keeps the reads of a client on the primary for agrix.datasource.replica.max-lag after each
+   * of its writes.
+   */
+  @Bean
+  public ReadYourWritesFilter readYourWritesFilter(ReadReplicaProperties properties) {
+    return new ReadYourWritesFilter(properties.maxLag());
+  }
+}
@@ -0,0 +1,25 @@
+package com.betrybe.agrix.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the read replica, bound from the agrix.datasource.replica.* properties.
+ *
+ * @param url         The JDBC url of the replica.
+ * @param username    The user of the replica.
+ * @param password    The password of the user.
+ * @param maxPoolSize Maximum number of connections kept by the replica pool.
+ * @param maxLag      How long after a client sends a write its read-only transactions still go
+ *                    to the primary, covering the replication lag; zero disables it. Other
+ *                    clients keep reading from the replica.
+ */
+@ConfigurationProperties("agrix.datasource.replica")
+public record ReadReplicaProperties(
+    String url,
+    String username,
+    String password,
+    @DefaultValue("10") int maxPoolSize,
+    @DefaultValue("0s") Duration maxLag
+) {}
@@ -0,0 +1,74 @@
+package com.betrybe.agrix.config;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource that sends the connections of read-only transactions to the replica and every
+ * other connection to the primary. The transaction is only known after it begins, so this
+ * DataSource must be wrapped in a LazyConnectionDataSourceProxy, which defers fetching the
+ * connection to the first statement.
+ *
+ * <p>The read-only transactions of a thread can be kept on the primary with
+ * {@link #setReadsFromPrimary(boolean)}; the {@link ReadYourWritesFilter} does so for the
+ * requests of a client that wrote recently, so it does not see the replica behind. The pin is
+ * bound to the thread: the tasks submitted to the application task executor carry it through
+ * the {@link ReadsFromPrimaryTaskDecorator}, while threads started otherwise read from the
+ * replica.</p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+  /**
+   * The databases a connection can be routed to.
+   */
+  public enum Route {
+    PRIMARY,
+    REPLICA
+  }
+
+  private static final ThreadLocal<Boolean> READS_FROM_PRIMARY = new ThreadLocal<>();
+
+  /**
+   * Creates the routing DataSource.
+   *
+   * @param primary The DataSource of the primary, which receives the writes.
+   * @param replica The DataSource of the replica, which receives the read-only transactions.
+   */
+  public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  /**
+   * Keeps the read-only transactions of the current thread on the primary, or lets them go back
+   * to the replica.
+   *
+   * @param primary Whether the read-only transactions must read from the primary.
+   */
+  public static void setReadsFromPrimary(boolean primary) {
+    if (primary) {
+      READS_FROM_PRIMARY.set(Boolean.TRUE);
+    } else {
+      READS_FROM_PRIMARY.remove();
+    }
+  }
+
+  /**
+   * Tells whether the read-only transactions of the current thread are kept on the primary.
+   */
+  public static boolean isReadingFromPrimary() {
+    return READS_FROM_PRIMARY.get() != null;
+  }
+
+  @Override
+  protected Route determineCurrentLookupKey() {
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        && !isReadingFromPrimary()) {
+      return Route.REPLICA;
+    }
+    return Route.PRIMARY;
+  }
+}
@@ -0,0 +1,84 @@
+package com.betrybe.agrix.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Gives each client read-your-writes consistency over the replica. A request that may write
+ * (any method but GET, HEAD, OPTIONS and TRACE) stamps the client with a cookie holding its time;
+ * the requests the client sends within the maximum lag of that time keep their read-only
+ * transactions on the primary. Other clients keep reading from the replica, whatever the write
+ * traffic. Clients that do not send cookies back read from the replica right after their writes.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  public static final String COOKIE = "agrix-last-write";
+
+  private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+  private final long maxLagMillis;
+
+  /**
+   * Creates the filter.
+   *
+   * @param maxLag How long after a write the reads of the same client go to the primary; zero
+   *               disables the filter.
+   */
+  public ReadYourWritesFilter(Duration maxLag) {
+    this.maxLagMillis = maxLag.toMillis();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return maxLagMillis <= 0;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+    long now = System.currentTimeMillis();
+    if (!SAFE_METHODS.contains(request.getMethod())) {
+      // Set before the chain, as the response may be committed once it returns
+      Cookie cookie = new Cookie(COOKIE, Long.toString(now));
+      cookie.setPath("/");
+      cookie.setHttpOnly(true);
+      cookie.setMaxAge((int) Math.max(1, (maxLagMillis + 999) / 1000));
+      response.addCookie(cookie);
+    }
+
+    ReadWriteRoutingDataSource.setReadsFromPrimary(wroteWithinMaxLag(request, now));
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReadWriteRoutingDataSource.setReadsFromPrimary(false);
+    }
+  }
+
+  private boolean wroteWithinMaxLag(HttpServletRequest request, long now) {
+    Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return false;
+    }
+    for (Cookie cookie : cookies) {
+      if (COOKIE.equals(cookie.getName())) {
+        try {
+          long writtenAt = Long.parseLong(cookie.getValue());
+          return now - writtenAt < maxLagMillis;
+        } catch (NumberFormatException e) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,26 @@
+package com.betrybe.agrix.config;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the primary pin of {@link ReadWriteRoutingDataSource} from the thread that submits a
+ * task to the thread that runs it. The pin is a thread-local set by {@link ReadYourWritesFilter}
+ * on the request thread, so without it the asynchronous part of a request, such as the body of
+ * the streamed crop export, would read from the replica right after the client's write.
+ */
+public class ReadsFromPrimaryTaskDecorator implements TaskDecorator {
+
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    boolean primary = ReadWriteRoutingDataSource.isReadingFromPrimary();
+    return () -> {
+      boolean previous = ReadWriteRoutingDataSource.isReadingFromPrimary();
+      ReadWriteRoutingDataSource.setReadsFromPrimary(primary);
+      try {
+        runnable.run();
+      } finally {
+        ReadWriteRoutingDataSource.setReadsFromPrimary(previous);
+      }
+    };
+  }
+}
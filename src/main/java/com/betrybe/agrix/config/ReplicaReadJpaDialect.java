@@ -0,0 +1,67 @@
+package com.betrybe.agrix.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import java.sql.SQLException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Hibernate dialect of the JPA transactions when the read replica is enabled. The transactions
+ * routed to the replica never put into the second-level cache, neither entities nor query
+ * results: the replica may lag behind the primary, and a stale row cached by one of its reads
+ * would be served to every client, including the ones {@link ReadYourWritesFilter} keeps on the
+ * primary. The cache is filled by the transactions of the primary only.
+ *
+ * <p>Entities are still read from the cache: EntityManager#find recomputes the cache mode from
+ * the store mode property on every call, which BYPASS turns into CacheMode.GET. Queries use the
+ * session cache mode instead, set to CacheMode.IGNORE: Hibernate 6.2 puts the result of a query
+ * cache miss even under CacheMode.GET, so they skip the query cache altogether.</p>
+ */
+public class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+  private static final String STORE_MODE = AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE;
+
+  @Override
+  public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+      throws SQLException {
+    Object transactionData = super.beginTransaction(entityManager, definition);
+    // Same decision as ReadWriteRoutingDataSource, which routes the connection fetched later
+    // by this thread for the transaction
+    if (!definition.isReadOnly() || ReadWriteRoutingDataSource.isReadingFromPrimary()) {
+      return transactionData;
+    }
+
+    Session session = entityManager.unwrap(Session.class);
+    ReplicaTransactionData replicaData = new ReplicaTransactionData(transactionData, session,
+        session.getProperties().getOrDefault(STORE_MODE, CacheStoreMode.USE),
+        session.getCacheMode());
+    session.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+    session.setCacheMode(CacheMode.IGNORE);
+    return replicaData;
+  }
+
+  @Override
+  public void cleanupTransaction(Object transactionData) {
+    if (transactionData instanceof ReplicaTransactionData replicaData) {
+      // The session outlives the transaction when it is bound to a wider scope
+      Session session = replicaData.session();
+      session.setProperty(STORE_MODE, replicaData.previousStoreMode());
+      session.setCacheMode(replicaData.previousCacheMode());
+      super.cleanupTransaction(replicaData.transactionData());
+    } else {
+      super.cleanupTransaction(transactionData);
+    }
+  }
+
+  private record ReplicaTransactionData(
+      Object transactionData,
+      Session session,
+      Object previousStoreMode,
+      CacheMode previousCacheMode
+  ) {
+  }
+}
@@ -0,0 +1,13 @@
+package com.betrybe.agrix.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled jobs of the application, such as the farm rollup repair. Each job is
+ * disabled unless its cron expression is configured.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
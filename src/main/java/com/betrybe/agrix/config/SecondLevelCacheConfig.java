@@ -0,0 +1,100 @@
+package com.betrybe.agrix.config;
+
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the Caffeine-backed JCache regions used by the Hibernate second-level cache.
+ *
+ * <p>The cache manager is created here, instead of by Hibernate, so that each region gets the
+ * size and TTL configured in {@link SecondLevelCacheProperties} and its statistics can be
+ * published through actuator.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+  private static final String QUERY_RESULTS_REGION =
+      RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+
+  private static final String UPDATE_TIMESTAMPS_REGION =
+      RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+  private static final List<String> REGIONS = List.of(
+      Farm.CACHE_REGION,
+      Fertilizer.CACHE_REGION,
+      QUERY_RESULTS_REGION,
+      UPDATE_TIMESTAMPS_REGION
+  );
+
+  /**
+   * Creates the cache manager holding the second-level cache regions. Each application context
+   * gets its own manager, which is closed together with the context.
+   */
+  @Bean(destroyMethod = "close")
+  public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+    CacheManager cacheManager = Caching
+        .getCachingProvider(CaffeineCachingProvider.class.getName())
+        .getCacheManager(
+            URI.create("agrix-second-level-cache-" + UUID.randomUUID()),
+            getClass().getClassLoader()
+        );
+
+    cacheManager.createCache(Farm.CACHE_REGION, boundedRegion(properties.farm()));
+    cacheManager.createCache(Fertilizer.CACHE_REGION, boundedRegion(properties.fertilizer()));
+    cacheManager.createCache(QUERY_RESULTS_REGION, boundedRegion(properties.queries()));
+    // Update timestamps must outlive every cached query result, so they are never evicted.
+    cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region());
+
+    return cacheManager;
+  }
+
+  /**
+   * Hands the cache manager to Hibernate's JCache region factory.
+   */
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager cacheManager) {
+    return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+  }
+
+  /**
+   * Publishes hit, miss, put and eviction counts of every region as cache.* meters.
+   */
+  @Bean
+  public MeterBinder secondLevelCacheMetrics(CacheManager cacheManager) {
+    return registry -> REGIONS.forEach(
+        region -> JCacheMetrics.monitor(registry, cacheManager.getCache(region))
+    );
+  }
+
+  private static CaffeineConfiguration<Object, Object> boundedRegion(
+      SecondLevelCacheProperties.Region settings
+  ) {
+    CaffeineConfiguration<Object, Object> configuration = region();
+    configuration.setMaximumSize(OptionalLong.of(settings.maxSize()));
+    configuration.setExpireAfterWrite(OptionalLong.of(settings.ttl().toNanos()));
+    return configuration;
+  }
+
+  private static CaffeineConfiguration<Object, Object> region() {
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setStatisticsEnabled(true);
+    return configuration;
+  }
+}
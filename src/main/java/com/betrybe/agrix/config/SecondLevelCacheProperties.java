@@ -0,0 +1,32 @@
+package com.betrybe.agrix.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Size and time-to-live of the Hibernate second-level cache regions, bound from the
+ * agrix.cache.* properties.
+ *
+ * @param farm       Settings of the Farm entity region.
+ * @param fertilizer Settings of the Fertilizer entity region.
+ * @param queries    Settings of the query results region.
+ */
+@ConfigurationProperties("agrix.cache")
+public record SecondLevelCacheProperties(
+    @DefaultValue Region farm,
+    @DefaultValue Region fertilizer,
+    @DefaultValue Region queries
+) {
+
+  /**
+   * Settings of a single cache region.
+   *
+   * @param maxSize Maximum number of entries kept in the region.
+   * @param ttl     Time after which an entry expires, counted from when it was written.
+   */
+  public record Region(
+      @DefaultValue("10000") long maxSize,
+      @DefaultValue("10m") Duration ttl
+  ) {}
+}
@@ -0,0 +1,69 @@
+package com.betrybe.agrix.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Opt-in mode (agrix.threads.virtual=true, or the virtual-threads profile) that handles each
+ * request on its own virtual thread instead of the bounded Tomcat pool. The services, and the
+ * JDBC calls of their repositories, run on the request thread, so a request waiting on the
+ * database no longer holds a platform thread; the Hikari pool becomes the only limit on database
+ * concurrency and must be sized accordingly.
+ *
+ * <p>JDBC drivers that block inside synchronized blocks pin the carrier thread, so keep the
+ * carrier parallelism (jdk.virtualThreadScheduler.parallelism) above the pool size when running
+ * such drivers.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "agrix.threads.virtual", havingValue = "true")
+public class VirtualThreadsConfig {
+
+  /**
+   * Executor that starts a new virtual thread for every task.
+   *
+   * @return The virtual thread per task executor.
+   */
+  @Bean
+  public ExecutorService virtualThreadExecutor() {
+    return Executors.newVirtualThreadPerTaskExecutor();
+  }
+
+  /**
+   * Makes Tomcat process every request on the virtual thread executor.
+   */
+  @Bean
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandler(
+      ExecutorService virtualThreadExecutor
+  ) {
+    return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+  }
+
+  /**
+   * Runs asynchronous responses, such as the streamed crop export, on virtual threads as well,
+   * decorated like the application task executor they replace.
+   */
+  @Bean
+  public WebMvcConfigurer virtualThreadAsyncSupport(
+      ExecutorService virtualThreadExecutor,
+      ObjectProvider<TaskDecorator> taskDecorator
+  ) {
+    TaskExecutorAdapter asyncExecutor = new TaskExecutorAdapter(virtualThreadExecutor);
+    taskDecorator.ifUnique(asyncExecutor::setTaskDecorator);
+    return new WebMvcConfigurer() {
+      @Override
+      public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(asyncExecutor);
+      }
+    };
+  }
+}
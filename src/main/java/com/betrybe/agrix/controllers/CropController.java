@@ -1,25 +1,44 @@
 package com.betrybe.agrix.controllers;
 
-import com.betrybe.agrix.controllers.dto.CropDto;
-import com.betrybe.agrix.controllers.dto.FertilizerDto;
+import com.betrybe.agrix.controllers.dto.CropFertilizerDto;
 import com.betrybe.agrix.models.entities.Crop;
 import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.projections.FertilizerDto;
+import com.betrybe.agrix.models.projections.VersionStamp;
+import com.betrybe.agrix.models.repositories.search.CropSearchCriteria;
+import com.betrybe.agrix.models.repositories.search.CropSearchCursor;
+import com.betrybe.agrix.models.repositories.search.CropSort;
 import com.betrybe.agrix.services.CropService;
 import com.betrybe.agrix.services.FertilizerService;
 import com.betrybe.agrix.services.exception.CropNotFoundException;
 import com.betrybe.agrix.services.exception.FertilizerNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller class for managing Crop entities.
@@ -32,21 +51,74 @@ public class CropController {
 
   private final FertilizerService fertilizerService;
 
+  private final ObjectWriter cropWriter;
+
+  /**
+   * Constructs the CropController with its services and the application ObjectMapper.
+   */
   @Autowired
-  public CropController(CropService cropService, FertilizerService fertilizerService) {
+  public CropController(
+      CropService cropService,
+      FertilizerService fertilizerService,
+      ObjectMapper objectMapper
+  ) {
     this.cropService = cropService;
     this.fertilizerService = fertilizerService;
+    this.cropWriter = objectMapper.writerFor(CropDto.class)
+        .withRootValueSeparator("\n")
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
   }
 
   /**
-   * Retrieves a list of all Crop entities.
+   * Retrieves a list of all Crop entities, or a single page of them when a cursor or a limit is
+   * informed.
    *
-   * @return A list of CropDto objects representing all Crop entities.
+   * @param after The id of the last crop of the previous page (optional).
+   * @param limit The maximum number of crops to return (optional).
+   * @return A ResponseEntity with a list of CropDto objects and, when paginating, the cursor of
+   *         the next page in the X-Next-Cursor header.
    */
   @GetMapping()
-  public List<CropDto> getAllCrops() {
-    List<Crop> allCrops = cropService.getAllCrops();
-    return allCrops.stream().map(CropDto::fromEntity).toList();
+  public ResponseEntity<List<CropDto>> getAllCrops(
+      @RequestParam(required = false) Long after,
+      @RequestParam(required = false) Integer limit
+  ) {
+    if (!KeysetPagination.isPaged(after, limit)) {
+      return ResponseEntity.ok(cropService.getAllCrops());
+    }
+
+    int pageSize = KeysetPagination.resolveLimit(limit);
+    List<CropDto> page = cropService.getCropsAfter(KeysetPagination.resolveAfter(after), pageSize);
+    return KeysetPagination.toResponse(page, pageSize, CropDto::id);
+  }
+
+  /**
+   * Exports every Crop entity as newline-delimited JSON, streaming the rows straight from the
+   * database to the response so the whole table is never held in memory.
+   *
+   * @return A ResponseEntity whose body writes one CropDto JSON object per line.
+   */
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportCrops() {
+    StreamingResponseBody body = outputStream -> {
+      try (SequenceWriter lines = cropWriter.writeValues(outputStream)) {
+        long exported = cropService.exportCrops(crop -> {
+          try {
+            lines.write(CropDto.fromEntity(crop));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        lines.flush();
+        // The writer only separates the records, so the last one is terminated here; an empty
+        // table exports an empty body rather than a blank line
+        if (exported > 0) {
+          outputStream.write('\n');
+        }
+      }
+    };
+
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
   }
 
   /**
@@ -69,23 +141,56 @@ public class CropController {
   }
 
   /**
-   * Retrieves a list of all Fertilizer entities associated with a crop.
+   * Associates many fertilizers with many crops in a single request. Associations that already
+   * exist are skipped, so the request can be safely repeated.
+   *
+   * @param associations The pairs of crop and fertilizer ids to associate.
+   * @return A ResponseEntity with a success message if every association is in place.
+   * @throws CropNotFoundException       If any of the crops is not found; nothing is associated.
+   * @throws FertilizerNotFoundException If any of the fertilizers is not found; nothing is
+   *                                     associated.
+   */
+  @PostMapping("/fertilizers")
+  public ResponseEntity<String> addFertilizersToCrops(
+      @RequestBody List<CropFertilizerDto> associations
+  ) throws CropNotFoundException, FertilizerNotFoundException {
+    cropService.addFertilizersToCrops(associations);
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body("Fertilizantes e plantações associados com sucesso!");
+  }
+
+  /**
+   * Retrieves a list of all Fertilizer entities associated with a crop. The list carries an ETag
+   * derived from the versions of the crop and its fertilizers; when If-None-Match is informed,
+   * only those versions are read and a matching request is answered with 304 (Not Modified).
    *
-   * @param cropId The unique identifier of the crop.
-   * @return A list of FertilizerDto objects representing all Fertilizer entities associated with
-   *         the crop.
+   * @param cropId  The unique identifier of the crop.
+   * @param request The current request, checked for If-None-Match.
+   * @return A ResponseEntity with a list of FertilizerDto objects representing all Fertilizer
+   *         entities associated with the crop, or null when not modified.
    * @throws CropNotFoundException If the crop with the specified ID is not found.
    */
   @GetMapping("/{cropId}/fertilizers")
-  public List<FertilizerDto> getFertilizersByCropId(@PathVariable Long cropId)
-      throws CropNotFoundException {
-    Optional<Crop> optionalCrop = cropService.getCropById(cropId);
+  public ResponseEntity<List<FertilizerDto>> getFertilizersByCropId(
+      @PathVariable Long cropId,
+      WebRequest request
+  ) throws CropNotFoundException {
+    if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+      VersionStamp stamp = cropService.getFertilizersVersionStamp(cropId)
+          .orElseThrow(CropNotFoundException::new);
+      if (request.checkNotModified(stamp.etag())) {
+        return null;
+      }
+    }
+    Optional<Crop> optionalCrop = cropService.getCropWithFertilizersById(cropId);
 
     if (optionalCrop.isEmpty()) {
       throw new CropNotFoundException();
     }
-    List<Fertilizer> fertilizers = optionalCrop.get().getFertilizers();
-    return fertilizers.stream().map(FertilizerDto::fromEntity).toList();
+    Set<Fertilizer> fertilizers = optionalCrop.get().getFertilizers();
+    return ResponseEntity.ok()
+        .eTag(VersionStamp.ofFertilizers(optionalCrop.get()).etag())
+        .body(fertilizers.stream().map(FertilizerDto::fromEntity).toList());
   }
 
   /**
@@ -105,19 +210,80 @@ public class CropController {
   }
 
   /**
-   * Retrieves a list of all Crop entities that have a harvest date between the specified dates.
+   * Retrieves a list of all Crop entities that are in the ground on a date, or on at least one
+   * day of a period.
    *
-   * @param start The start date of the harvest date range.
-   * @param end   The end date of the harvest date range.
-   * @return A list of CropDto objects representing all Crop entities that have a harvest date
-   *         between the specified dates.
+   * @param start The date, or the first day of the period.
+   * @param end   The last day of the period (optional, defaults to start).
+   * @return A list of CropDto objects representing all Crop entities planted on or before end and
+   *         harvested on or after start, ordered by planted date.
+   * @throws ResponseStatusException With status 400 (Bad Request) if end is before start.
    */
-  @GetMapping("/search")
-  public List<CropDto> getByHarvestDate(
+  @GetMapping("/active")
+  public List<CropDto> getActiveCrops(
       @RequestParam LocalDate start,
-      @RequestParam LocalDate end
+      @RequestParam(required = false) LocalDate end
+  ) {
+    if (end != null && end.isBefore(start)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "end must not be before start");
+    }
+    return cropService.getActiveCrops(start, end != null ? end : start);
+  }
+
+  /**
+   * Searches the Crop entities matching every informed filter. The filtering, sorting and
+   * pagination are all done by the database. Without a cursor or a limit, every matching crop is
+   * returned.
+   *
+   * @param farmId       The farms the crops must belong to (optional, repeatable).
+   * @param name         The text the crop names must start with (optional).
+   * @param plantedFrom  The earliest planted date (optional).
+   * @param plantedTo    The latest planted date (optional).
+   * @param start        The earliest harvest date (optional).
+   * @param end          The latest harvest date (optional).
+   * @param fertilizerId A fertilizer the crops must use (optional).
+   * @param minArea      The smallest planted area (optional).
+   * @param maxArea      The largest planted area (optional).
+   * @param sort         The attribute to sort by: ID (default), NAME, PLANTED_DATE, HARVEST_DATE
+   *                     or PLANTED_AREA.
+   * @param direction    The direction of the sort: ASC (default) or DESC.
+   * @param after        The cursor returned with the previous page (optional). The sort and
+   *                     direction of the cursor take precedence over the informed ones.
+   * @param limit        The maximum number of crops to return (optional).
+   * @return A ResponseEntity with a list of CropDto objects and, when paginating, the cursor of
+   *         the next page in the X-Next-Cursor header.
+   */
+  @GetMapping("/search")
+  public ResponseEntity<List<CropDto>> searchCrops(
+      @RequestParam(required = false) List<Long> farmId,
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) LocalDate plantedFrom,
+      @RequestParam(required = false) LocalDate plantedTo,
+      @RequestParam(required = false) LocalDate start,
+      @RequestParam(required = false) LocalDate end,
+      @RequestParam(required = false) Long fertilizerId,
+      @RequestParam(required = false) Double minArea,
+      @RequestParam(required = false) Double maxArea,
+      @RequestParam(defaultValue = "ID") CropSort sort,
+      @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+      @RequestParam(required = false) CropSearchCursor after,
+      @RequestParam(required = false) Integer limit
   ) {
-    List<Crop> allCrops = cropService.getByHarvestDate(start, end);
-    return allCrops.stream().map(CropDto::fromEntity).toList();
+    CropSearchCriteria criteria = new CropSearchCriteria(
+        farmId, name, plantedFrom, plantedTo, start, end, fertilizerId, minArea, maxArea
+    );
+    CropSort sortBy = after != null ? after.sort() : sort;
+    Sort.Direction sortDirection = after != null ? after.direction() : direction;
+
+    if (after == null && limit == null) {
+      return ResponseEntity.ok(
+          cropService.searchCrops(criteria, sortBy, sortDirection, null, null)
+      );
+    }
+
+    int pageSize = KeysetPagination.resolveLimit(limit);
+    List<CropDto> page = cropService.searchCrops(criteria, sortBy, sortDirection, after, pageSize);
+    return KeysetPagination.toCursorResponse(page, pageSize,
+        crop -> CropSearchCursor.after(sortBy, sortDirection, crop).encode());
   }
 }
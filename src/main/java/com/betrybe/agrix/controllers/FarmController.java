@@ -1,14 +1,19 @@
 package com.betrybe.agrix.controllers;
 
-import com.betrybe.agrix.controllers.dto.CropDto;
-import com.betrybe.agrix.controllers.dto.FarmDto;
 import com.betrybe.agrix.models.entities.Crop;
 import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.projections.FarmDto;
+import com.betrybe.agrix.models.projections.FarmRollupDto;
+import com.betrybe.agrix.models.projections.FarmStatsDto;
+import com.betrybe.agrix.models.projections.VersionStamp;
+import com.betrybe.agrix.services.FarmRollupService;
 import com.betrybe.agrix.services.FarmService;
 import com.betrybe.agrix.services.exception.FarmNotFoundException;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,7 +21,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controller class for managing Farm entities.
@@ -27,9 +34,12 @@ public class FarmController {
 
   private final FarmService farmService;
 
+  private final FarmRollupService farmRollupService;
+
   @Autowired
-  public FarmController(FarmService farmService) {
+  public FarmController(FarmService farmService, FarmRollupService farmRollupService) {
     this.farmService = farmService;
+    this.farmRollupService = farmRollupService;
   }
 
   /**
@@ -64,48 +74,114 @@ public class FarmController {
   }
 
   /**
-   * Retrieves a list of CropDto objects representing crops associated with a specific farm.
+   * Retrieves a list of CropDto objects representing crops associated with a specific farm. The
+   * list carries an ETag derived from the versions of the crops, and is answered with 304 (Not
+   * Modified) when it matches If-None-Match.
    *
-   * @param farmId The unique identifier of the farm for which to retrieve crops.
+   * @param farmId  The unique identifier of the farm for which to retrieve crops.
+   * @param request The current request, checked for If-None-Match.
    * @return A List of CropDto objects associated with the specified farm,
-   *         or an empty List if no crops are found for the given farm.
+   *         or an empty List if no crops are found for the given farm, or null when not modified.
    * @throws FarmNotFoundException If the farm with the specified ID is not found.
    */
   @GetMapping("/{farmId}/crops")
-  public List<CropDto> getCropsByFarmId(@PathVariable Long farmId)
+  public List<CropDto> getCropsByFarmId(@PathVariable Long farmId, WebRequest request)
       throws FarmNotFoundException {
-    Optional<Farm> optionalFarm = farmService.getFarmById(farmId);
-    if (optionalFarm.isEmpty()) {
-      throw new FarmNotFoundException();
+    VersionStamp stamp = farmService.getCropsVersionStamp(farmId)
+        .orElseThrow(FarmNotFoundException::new);
+    if (request.checkNotModified(stamp.etag())) {
+      return null;
     }
-    List<Crop> crops = farmService.getCropsByFarmId(farmId);
-    return crops.stream().map(CropDto::fromEntity).toList();
+    return farmService.getCropsByFarmId(farmId);
   }
 
   /**
-   * Retrieves a farm by its unique identifier.
+   * Retrieves the aggregate statistics of the crops of a farm.
    *
-   * @param farmId The unique identifier of the farm to retrieve.
-   * @return ResponseEntity containing a FarmDto if the farm is found.
+   * @param farmId The unique identifier of the farm.
+   * @return ResponseEntity containing a FarmStatsDto if the farm is found.
+   * @throws FarmNotFoundException If the farm with the specified ID is not found.
+   */
+  @GetMapping("/{farmId}/stats")
+  public ResponseEntity<FarmStatsDto> getFarmStats(@PathVariable Long farmId)
+      throws FarmNotFoundException {
+    return farmService.getFarmStats(farmId)
+        .map(ResponseEntity::ok)
+        .orElseThrow(FarmNotFoundException::new);
+  }
+
+  /**
+   * Retrieves the aggregate statistics of the crops of every farm.
+   *
+   * @return A list of FarmStatsDto objects, one per farm, ordered by farm id.
+   */
+  @GetMapping("/stats")
+  public List<FarmStatsDto> getAllFarmStats() {
+    return farmService.getAllFarmStats();
+  }
+
+  /**
+   * Retrieves the rollup of the crops of a farm, read from a single precomputed row.
+   *
+   * @param farmId The unique identifier of the farm.
+   * @return ResponseEntity containing a FarmRollupDto if the farm is found.
+   * @throws FarmNotFoundException If the farm with the specified ID is not found.
+   */
+  @GetMapping("/{farmId}/summary")
+  public ResponseEntity<FarmRollupDto> getFarmSummary(@PathVariable Long farmId)
+      throws FarmNotFoundException {
+    return farmRollupService.getFarmRollup(farmId)
+        .map(ResponseEntity::ok)
+        .orElseThrow(FarmNotFoundException::new);
+  }
+
+  /**
+   * Retrieves a farm by its unique identifier. The response carries the version of the farm as
+   * its ETag; when If-None-Match is informed, only the version is read and a matching request is
+   * answered with 304 (Not Modified).
+   *
+   * @param farmId  The unique identifier of the farm to retrieve.
+   * @param request The current request, checked for If-None-Match.
+   * @return ResponseEntity containing a FarmDto if the farm is found, or null when not modified.
    * @throws FarmNotFoundException If the farm with the specified ID is not found.
    */
   @GetMapping("/{farmId}")
-  public ResponseEntity<FarmDto> getFarmById(@PathVariable Long farmId)
+  public ResponseEntity<FarmDto> getFarmById(@PathVariable Long farmId, WebRequest request)
       throws FarmNotFoundException {
+    if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+      Long version = farmService.getFarmVersion(farmId).orElseThrow(FarmNotFoundException::new);
+      if (request.checkNotModified(version.toString())) {
+        return null;
+      }
+    }
     Optional<Farm> optionalFarm = farmService.getFarmById(farmId);
 
-    return optionalFarm.map(farm -> ResponseEntity.ok(FarmDto.fromEntity(farm)))
+    return optionalFarm.map(farm -> ResponseEntity.ok()
+            .eTag(farm.getVersion().toString())
+            .body(FarmDto.fromEntity(farm)))
         .orElseThrow(FarmNotFoundException::new);
   }
 
   /**
-   * Retrieves a list of all Farm entities.
+   * Retrieves a list of all Farm entities, or a single page of them when a cursor or a limit is
+   * informed.
    *
-   * @return A list of FarmDto objects representing all Farm entities.
+   * @param after The id of the last farm of the previous page (optional).
+   * @param limit The maximum number of farms to return (optional).
+   * @return A ResponseEntity with a list of FarmDto objects and, when paginating, the cursor of
+   *         the next page in the X-Next-Cursor header.
    */
   @GetMapping()
-  public List<FarmDto> getAllFarms() {
-    List<Farm> allFarms = farmService.getAllFarms();
-    return allFarms.stream().map(FarmDto::fromEntity).toList();
+  public ResponseEntity<List<FarmDto>> getAllFarms(
+      @RequestParam(required = false) Long after,
+      @RequestParam(required = false) Integer limit
+  ) {
+    if (!KeysetPagination.isPaged(after, limit)) {
+      return ResponseEntity.ok(farmService.getAllFarms());
+    }
+
+    int pageSize = KeysetPagination.resolveLimit(limit);
+    List<FarmDto> page = farmService.getFarmsAfter(KeysetPagination.resolveAfter(after), pageSize);
+    return KeysetPagination.toResponse(page, pageSize, FarmDto::id);
   }
 }
@@ -1,7 +1,7 @@
 package com.betrybe.agrix.controllers;
 
-import com.betrybe.agrix.controllers.dto.FertilizerDto;
 import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.models.projections.FertilizerDto;
 import com.betrybe.agrix.services.FertilizerService;
 import com.betrybe.agrix.services.exception.FertilizerNotFoundException;
 import java.util.List;
@@ -14,7 +14,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controller class for managing Fertilizer entities.
@@ -60,13 +62,32 @@ public class FertilizerController {
   }
 
   /**
-   * Retrieves a list of all Fertilizer entities.
+   * Retrieves a list of all Fertilizer entities, or a single page of them when a cursor or a
+   * limit is informed. The full list carries an ETag derived from the versions of the
+   * fertilizers, and is answered with 304 (Not Modified) when it matches If-None-Match.
    *
-   * @return A list of FertilizerDto objects representing all Fertilizer entities.
+   * @param after   The id of the last fertilizer of the previous page (optional).
+   * @param limit   The maximum number of fertilizers to return (optional).
+   * @param request The current request, checked for If-None-Match.
+   * @return A ResponseEntity with a list of FertilizerDto objects and, when paginating, the cursor
+   *         of the next page in the X-Next-Cursor header, or null when not modified.
    */
   @GetMapping()
-  public List<FertilizerDto> getAllFertilizers() {
-    List<Fertilizer> allFertilizers = fertilizerService.getAllFertilizers();
-    return allFertilizers.stream().map(FertilizerDto::fromEntity).toList();
+  public ResponseEntity<List<FertilizerDto>> getAllFertilizers(
+      @RequestParam(required = false) Long after,
+      @RequestParam(required = false) Integer limit,
+      WebRequest request
+  ) {
+    if (!KeysetPagination.isPaged(after, limit)) {
+      if (request.checkNotModified(fertilizerService.getFertilizersVersionStamp().etag())) {
+        return null;
+      }
+      return ResponseEntity.ok(fertilizerService.getAllFertilizers());
+    }
+
+    int pageSize = KeysetPagination.resolveLimit(limit);
+    List<FertilizerDto> page =
+        fertilizerService.getFertilizersAfter(KeysetPagination.resolveAfter(after), pageSize);
+    return KeysetPagination.toResponse(page, pageSize, FertilizerDto::id);
   }
 }
@@ -0,0 +1,105 @@
+package com.betrybe.agrix.controllers;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Helpers shared by the controllers that expose keyset (cursor) pagination.
+ *
+ * <p>A page is requested with {@code ?after=<id>&limit=N} and the cursor for the following page
+ * is returned in the {@value #NEXT_CURSOR_HEADER} response header, so the response body keeps
+ * the same JSON array shape as the unpaginated routes.
+ */
+public final class KeysetPagination {
+
+  /**
+   * Response header carrying the cursor to request the next page with.
+   */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  /**
+   * Page size used when only the {@code after} cursor is informed.
+   */
+  public static final int DEFAULT_LIMIT = 50;
+
+  /**
+   * Largest page size a client may request.
+   */
+  public static final int MAX_LIMIT = 500;
+
+  private KeysetPagination() {}
+
+  /**
+   * Checks whether the request asked for a page instead of the whole collection.
+   *
+   * @param after The cursor informed by the client, if any.
+   * @param limit The page size informed by the client, if any.
+   * @return True if any of the pagination parameters was informed.
+   */
+  public static boolean isPaged(Long after, Integer limit) {
+    return after != null || limit != null;
+  }
+
+  /**
+   * Resolves the cursor to start reading from.
+   *
+   * @param after The cursor informed by the client, if any.
+   * @return The informed cursor, or zero to start from the first row.
+   */
+  public static long resolveAfter(Long after) {
+    return after != null ? after : 0L;
+  }
+
+  /**
+   * Resolves the page size, clamping it to the accepted range.
+   *
+   * @param limit The page size informed by the client, if any.
+   * @return A page size between 1 and {@link #MAX_LIMIT}.
+   */
+  public static int resolveLimit(Integer limit) {
+    if (limit == null) {
+      return DEFAULT_LIMIT;
+    }
+    return Math.max(1, Math.min(limit, MAX_LIMIT));
+  }
+
+  /**
+   * Builds the response for a page, adding the next cursor header when there may be more rows.
+   *
+   * @param page        The items of the current page, ordered by id.
+   * @param limit       The page size used to read the page.
+   * @param idExtractor Function that extracts the id of an item.
+   * @param <T>         The type of the items.
+   * @return A ResponseEntity with the page as body and the next cursor header, if any.
+   */
+  public static <T> ResponseEntity<List<T>> toResponse(
+      List<T> page,
+      int limit,
+      Function<T, Long> idExtractor
+  ) {
+    return toCursorResponse(page, limit, item -> String.valueOf(idExtractor.apply(item)));
+  }
+
+  /**
+   * Builds the response for a page whose cursor is not a plain id, adding the next cursor header
+   * when there may be more rows.
+   *
+   * @param page            The items of the current page, in cursor order.
+   * @param limit           The page size used to read the page.
+   * @param cursorExtractor Function that builds the cursor pointing right after an item.
+   * @param <T>             The type of the items.
+   * @return A ResponseEntity with the page as body and the next cursor header, if any.
+   */
+  public static <T> ResponseEntity<List<T>> toCursorResponse(
+      List<T> page,
+      int limit,
+      Function<T, String> cursorExtractor
+  ) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.size() == limit) {
+      response.header(NEXT_CURSOR_HEADER, cursorExtractor.apply(page.get(page.size() - 1)));
+    }
+    return response.body(page);
+  }
+}
@@ -1,7 +1,12 @@
 package com.betrybe.agrix.controllers.advice;
 
+import com.betrybe.agrix.ebytr.staff.exception.PersonNotFoundException;
 import com.betrybe.agrix.services.exception.NotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -12,6 +17,16 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class GlobalControllerAdvice {
 
+  private static final MediaType TEXT_PLAIN_UTF8 =
+      new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+  /**
+   * The 404 responses by message, with their bodies already encoded. Each not found exception
+   * has a fixed message, so there are only a handful of them, and they are immutable.
+   */
+  private final Map<String, ResponseEntity<byte[]>> notFoundResponses =
+      new ConcurrentHashMap<>();
+
   /**
    * Exception handler for NotFoundException.
    *
@@ -19,11 +34,26 @@ public class GlobalControllerAdvice {
    * @return A ResponseEntity with a 404 status code and the exception message.
    */
   @ExceptionHandler(NotFoundException.class)
-  public ResponseEntity<String> handleNotFoundException(NotFoundException exception) {
-    return ResponseEntity
+  public ResponseEntity<byte[]> handleNotFoundException(NotFoundException exception) {
+    return notFound(exception.getMessage());
+  }
+
+  /**
+   * Exception handler for PersonNotFoundException.
+   *
+   * @param exception The PersonNotFoundException to handle.
+   * @return A ResponseEntity with a 404 status code and the exception message.
+   */
+  @ExceptionHandler(PersonNotFoundException.class)
+  public ResponseEntity<byte[]> handlePersonNotFoundException(
+      PersonNotFoundException exception) {
+    return notFound(exception.getMessage());
+  }
+
+  private ResponseEntity<byte[]> notFound(String message) {
+    return notFoundResponses.computeIfAbsent(message, key -> ResponseEntity
         .status(HttpStatus.NOT_FOUND)
-        .body(
-            exception.getMessage()
-        );
+        .contentType(TEXT_PLAIN_UTF8)
+        .body(key.getBytes(StandardCharsets.UTF_8)));
   }
 }
@@ -0,0 +1,13 @@
+package com.betrybe.agrix.controllers.dto;
+
+import com.betrybe.agrix.models.repositories.CropFertilizerRepository;
+
+/**
+ * Data Transfer Object (DTO) representing the association of a fertilizer with a crop, as sent
+ * in the body of POST /crops/fertilizers. The pairs are handed as they are to
+ * {@link CropFertilizerRepository#insertMissingAssociations}.
+ *
+ * @param cropId       The unique identifier of the crop.
+ * @param fertilizerId The unique identifier of the fertilizer.
+ */
+public record CropFertilizerDto(Long cropId, Long fertilizerId) {}
@@ -0,0 +1,238 @@
+package com.betrybe.agrix.controllers.reactive;
+
+import com.betrybe.agrix.controllers.KeysetPagination;
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.projections.FarmDto;
+import com.betrybe.agrix.models.projections.FertilizerDto;
+import com.betrybe.agrix.models.reactive.CropReactiveRepository;
+import com.betrybe.agrix.models.reactive.FarmReactiveRepository;
+import com.betrybe.agrix.models.repositories.search.CropSearchCriteria;
+import com.betrybe.agrix.models.repositories.search.CropSearchCursor;
+import com.betrybe.agrix.models.repositories.search.CropSort;
+import com.betrybe.agrix.services.exception.CropNotFoundException;
+import com.betrybe.agrix.services.exception.FarmNotFoundException;
+import com.betrybe.agrix.services.exception.NotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking, read-only mirror of the GET routes of the FarmController and the CropController,
+ * served by the reactive read server.
+ *
+ * <p>Lists are written as they are read: a JSON array by default, or one JSON object per line
+ * when the client accepts application/x-ndjson. The rows are only requested from the database
+ * as fast as the client consumes the response, so a slow consumer holds neither a thread nor the
+ * whole result in memory. The routes answer with the same DTOs, status codes and not found
+ * messages as the servlet API. Keyset pagination is only mirrored by the crop search; the other
+ * lists are streamed whole.</p>
+ */
+public class ReactiveReadHandler {
+
+  private static final MediaType TEXT_PLAIN_UTF8 =
+      new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+  private static final byte[] FARM_NOT_FOUND = encode(new FarmNotFoundException());
+
+  private static final byte[] CROP_NOT_FOUND = encode(new CropNotFoundException());
+
+  private final FarmReactiveRepository farmRepository;
+
+  private final CropReactiveRepository cropRepository;
+
+  public ReactiveReadHandler(
+      FarmReactiveRepository farmRepository,
+      CropReactiveRepository cropRepository
+  ) {
+    this.farmRepository = farmRepository;
+    this.cropRepository = cropRepository;
+  }
+
+  /**
+   * Builds the routes of the reactive read API.
+   *
+   * @return The router function dispatching each GET route to its handler.
+   */
+  public RouterFunction<ServerResponse> routes() {
+    return RouterFunctions.route()
+        .GET("/farms", this::getAllFarms)
+        .GET("/farms/{farmId}", this::getFarmById)
+        .GET("/farms/{farmId}/crops", this::getCropsByFarmId)
+        .GET("/crops", this::getAllCrops)
+        .GET("/crops/search", this::searchCrops)
+        .GET("/crops/{cropId}", this::getCropById)
+        .GET("/crops/{cropId}/fertilizers", this::getFertilizersByCropId)
+        .filter((request, next) -> Mono.defer(() -> next.handle(request))
+            .onErrorResume(ReactiveReadHandler::isBadRequest,
+                exception -> ServerResponse.badRequest().build()))
+        .build();
+  }
+
+  /**
+   * Streams every farm.
+   */
+  public Mono<ServerResponse> getAllFarms(ServerRequest request) {
+    return stream(request, farmRepository.findAllDtos(), FarmDto.class);
+  }
+
+  /**
+   * Retrieves a farm by its id, answering 404 if it does not exist.
+   */
+  public Mono<ServerResponse> getFarmById(ServerRequest request) {
+    return farmRepository.findDtoById(pathId(request, "farmId"))
+        .flatMap(farm -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(farm))
+        .switchIfEmpty(Mono.defer(() -> notFound(FARM_NOT_FOUND)));
+  }
+
+  /**
+   * Streams the crops of a farm, answering 404 if the farm does not exist.
+   */
+  public Mono<ServerResponse> getCropsByFarmId(ServerRequest request) {
+    Long farmId = pathId(request, "farmId");
+    return farmRepository.existsById(farmId)
+        .flatMap(exists -> exists
+            ? stream(request, cropRepository.findDtosByFarmId(farmId), CropDto.class)
+            : notFound(FARM_NOT_FOUND));
+  }
+
+  /**
+   * Streams every crop.
+   */
+  public Mono<ServerResponse> getAllCrops(ServerRequest request) {
+    return stream(request, cropRepository.findAllDtos(), CropDto.class);
+  }
+
+  /**
+   * Retrieves a crop by its id, answering 404 if it does not exist.
+   */
+  public Mono<ServerResponse> getCropById(ServerRequest request) {
+    return cropRepository.findDtoById(pathId(request, "cropId"))
+        .flatMap(crop -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(crop))
+        .switchIfEmpty(Mono.defer(() -> notFound(CROP_NOT_FOUND)));
+  }
+
+  /**
+   * Streams the fertilizers of a crop, answering 404 if the crop does not exist.
+   */
+  public Mono<ServerResponse> getFertilizersByCropId(ServerRequest request) {
+    Long cropId = pathId(request, "cropId");
+    return cropRepository.existsById(cropId)
+        .flatMap(exists -> exists
+            ? stream(request, cropRepository.findFertilizerDtosByCropId(cropId),
+                FertilizerDto.class)
+            : notFound(CROP_NOT_FOUND));
+  }
+
+  /**
+   * Streams the crops matching every informed filter, with the query parameters, defaults and
+   * pagination of GET /crops/search in the servlet API. A page, requested with a cursor or a
+   * limit, carries the cursor of the next one in the X-Next-Cursor header.
+   */
+  public Mono<ServerResponse> searchCrops(ServerRequest request) {
+    List<Long> farmIds = request.queryParams().getOrDefault("farmId", List.of()).stream()
+        .filter(StringUtils::hasText)
+        .map(Long::valueOf)
+        .toList();
+    CropSearchCriteria criteria = new CropSearchCriteria(
+        farmIds,
+        request.queryParam("name").orElse(null),
+        queryParam(request, "plantedFrom", LocalDate::parse),
+        queryParam(request, "plantedTo", LocalDate::parse),
+        queryParam(request, "start", LocalDate::parse),
+        queryParam(request, "end", LocalDate::parse),
+        queryParam(request, "fertilizerId", Long::valueOf),
+        queryParam(request, "minArea", Double::valueOf),
+        queryParam(request, "maxArea", Double::valueOf)
+    );
+    CropSearchCursor after = queryParam(request, "after", CropSearchCursor::valueOf);
+    Integer limit = queryParam(request, "limit", Integer::valueOf);
+    CropSort sort = after != null ? after.sort()
+        : Optional.ofNullable(queryParam(request, "sort", CropSort::valueOf)).orElse(CropSort.ID);
+    Sort.Direction direction = after != null ? after.direction()
+        : Optional.ofNullable(queryParam(request, "direction", Sort.Direction::valueOf))
+            .orElse(Sort.Direction.ASC);
+
+    if (after == null && limit == null) {
+      return stream(request, ServerResponse.ok(),
+          cropRepository.search(criteria, sort, direction, null, null), CropDto.class);
+    }
+
+    int pageSize = KeysetPagination.resolveLimit(limit);
+    return cropRepository.search(criteria, sort, direction, after, pageSize)
+        .collectList()
+        .flatMap(page -> {
+          ServerResponse.BodyBuilder response = ServerResponse.ok();
+          if (page.size() == pageSize) {
+            response.header(KeysetPagination.NEXT_CURSOR_HEADER,
+                CropSearchCursor.after(sort, direction, page.get(page.size() - 1)).encode());
+          }
+          return stream(request, response, Flux.fromIterable(page), CropDto.class);
+        });
+  }
+
+  private static <T> Mono<ServerResponse> stream(
+      ServerRequest request,
+      Flux<T> body,
+      Class<T> type
+  ) {
+    return stream(request, ServerResponse.ok(), body, type);
+  }
+
+  private static <T> Mono<ServerResponse> stream(
+      ServerRequest request,
+      ServerResponse.BodyBuilder response,
+      Flux<T> body,
+      Class<T> type
+  ) {
+    boolean ndjson = request.headers().accept().stream()
+        .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    MediaType contentType = ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+    return response.contentType(contentType).body(body, type);
+  }
+
+  /**
+   * Reads an optional query parameter, treating an empty value as absent like the servlet API.
+   */
+  private static <T> T queryParam(
+      ServerRequest request,
+      String name,
+      Function<String, T> parser
+  ) {
+    return request.queryParam(name)
+        .filter(StringUtils::hasText)
+        .map(parser)
+        .orElse(null);
+  }
+
+  private static Long pathId(ServerRequest request, String name) {
+    return Long.valueOf(request.pathVariable(name));
+  }
+
+  private static Mono<ServerResponse> notFound(byte[] body) {
+    return ServerResponse.status(HttpStatus.NOT_FOUND).contentType(TEXT_PLAIN_UTF8)
+        .bodyValue(body);
+  }
+
+  private static byte[] encode(NotFoundException exception) {
+    return exception.getMessage().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static boolean isBadRequest(Throwable exception) {
+    return exception instanceof IllegalArgumentException || exception instanceof DateTimeException;
+  }
+}
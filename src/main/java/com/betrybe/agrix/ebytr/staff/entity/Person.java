@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import java.util.Objects;
 
 /**
@@ -16,7 +17,8 @@ import java.util.Objects;
 public class Person {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_seq")
+  @SequenceGenerator(name = "person_seq", sequenceName = "person_seq", allocationSize = 50)
   private Long id;
 
   @Column(unique = true)
@@ -74,5 +76,10 @@ public class Person {
         person.username) && Objects.equals(password, person.password)
         && Objects.equals(role, person.role);
   }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, username, password, role);
+  }
 }
 
@@ -1,12 +1,13 @@
 package com.betrybe.agrix.ebytr.staff.exception;
 
 /**
- * Exception for when a person is not found.
+ * Exception for when a person is not found. Like the other not found exceptions, it records no
+ * stack trace.
  */
 public class PersonNotFoundException extends RuntimeException {
 
   public PersonNotFoundException() {
-    super("Pessoa não encontrada!");
+    super("Pessoa não encontrada!", null, false, false);
   }
 
 }
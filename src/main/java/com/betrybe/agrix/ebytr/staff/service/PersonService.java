@@ -1,8 +1,13 @@
 package com.betrybe.agrix.ebytr.staff.service;
 
+import com.betrybe.agrix.config.PersonCacheProperties;
 import com.betrybe.agrix.ebytr.staff.entity.Person;
 import com.betrybe.agrix.ebytr.staff.exception.PersonNotFoundException;
 import com.betrybe.agrix.ebytr.staff.repository.PersonRepository;
+import com.betrybe.agrix.ebytr.staff.security.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,10 +20,47 @@ public class PersonService {
 
   private final PersonRepository personRepository;
 
+  /**
+   * Username lookups, including the misses, so unknown usernames do not reach the database on
+   * every request either. Found persons are kept as immutable snapshots and every lookup gets its
+   * own Person, so callers changing the returned entity never alter the cached one.
+   */
+  private final Cache<String, Optional<CachedPerson>> personsByUsername;
+
+  /**
+   * Creates the service with a bounded username cache.
+   *
+   * @param personRepository The person repository.
+   * @param cacheProperties  The size and time-to-live of the username cache.
+   */
   @Autowired
   public PersonService(
-      PersonRepository personRepository) {
+      PersonRepository personRepository,
+      PersonCacheProperties cacheProperties) {
     this.personRepository = personRepository;
+    this.personsByUsername = Caffeine.newBuilder()
+        .maximumSize(cacheProperties.maxSize())
+        .expireAfter(new Expiry<String, Optional<CachedPerson>>() {
+          @Override
+          public long expireAfterCreate(
+              String username, Optional<CachedPerson> person, long now) {
+            return (person.isPresent() ? cacheProperties.ttl() : cacheProperties.negativeTtl())
+                .toNanos();
+          }
+
+          @Override
+          public long expireAfterUpdate(
+              String username, Optional<CachedPerson> person, long now, long remaining) {
+            return expireAfterCreate(username, person, now);
+          }
+
+          @Override
+          public long expireAfterRead(
+              String username, Optional<CachedPerson> person, long now, long remaining) {
+            return remaining;
+          }
+        })
+        .build();
   }
 
   /**
@@ -35,22 +77,46 @@ public class PersonService {
   }
 
   /**
-   * Returns a person for a given username.
+   * Returns a person for a given username. Results are cached, including misses, and each call
+   * returns a new detached Person.
    */
   public Person getPersonByUsername(String username) {
-    Optional<Person> person = personRepository.findByUsername(username);
+    Optional<CachedPerson> person = personsByUsername.get(username,
+        key -> personRepository.findByUsername(key).map(CachedPerson::of));
 
     if (person.isEmpty()) {
       throw new PersonNotFoundException();
     }
 
-    return person.get();
+    return person.get().toPerson();
   }
 
   /**
    * Creates a new person.
    */
   public Person create(Person person) {
-    return personRepository.save(person);
+    Person newPerson = personRepository.save(person);
+    personsByUsername.invalidate(newPerson.getUsername());
+    return newPerson;
+  }
+
+  /**
+   * Immutable copy of the fields of a Person, as kept in the username cache.
+   */
+  private record CachedPerson(Long id, String username, String password, Role role) {
+
+    static CachedPerson of(Person person) {
+      return new CachedPerson(
+          person.getId(), person.getUsername(), person.getPassword(), person.getRole());
+    }
+
+    Person toPerson() {
+      Person person = new Person();
+      person.setId(id);
+      person.setUsername(username);
+      person.setPassword(password);
+      person.setRole(role);
+      return person;
+    }
   }
 }
@@ -1,31 +1,78 @@
 package com.betrybe.agrix.models.entities;
 
+import com.betrybe.agrix.models.projections.CropDto;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.ColumnResult;
+import jakarta.persistence.ConstructorResult;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.SqlResultSetMapping;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * Represents a crop entity.
  */
 @Entity
-@Table(name = "crop")
+@Table(
+    name = "crop",
+    indexes = {
+        @Index(name = "idx_crop_farm_id", columnList = "farm_id"),
+        @Index(name = "idx_crop_harvest_date", columnList = "harvest_date")
+    }
+)
+@NamedEntityGraph(
+    name = Crop.WITH_FERTILIZERS_GRAPH,
+    attributeNodes = @NamedAttributeNode("fertilizers")
+)
+@SqlResultSetMapping(
+    name = Crop.DTO_MAPPING,
+    classes = @ConstructorResult(
+        targetClass = CropDto.class,
+        columns = {
+            @ColumnResult(name = "id", type = Long.class),
+            @ColumnResult(name = "name", type = String.class),
+            @ColumnResult(name = "planted_area", type = Double.class),
+            @ColumnResult(name = "planted_date", type = LocalDate.class),
+            @ColumnResult(name = "harvest_date", type = LocalDate.class),
+            @ColumnResult(name = "farm_id", type = Long.class)
+        }
+    )
+)
 public class Crop {
 
+  /**
+   * Name of the entity graph that fetches the crop together with its fertilizers.
+   */
+  public static final String WITH_FERTILIZERS_GRAPH = "Crop.fertilizers";
+
+  /**
+   * Name of the mapping of the crop columns, as selected by native queries, to CropDto records.
+   */
+  public static final String DTO_MAPPING = "Crop.dto";
+
   /**
    * The unique identifier of the crop.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "crop_seq")
+  @SequenceGenerator(name = "crop_seq", sequenceName = "crop_seq", allocationSize = 50)
   private Long id;
 
   /**
@@ -51,19 +98,38 @@ public class Crop {
   @Column(name = "harvest_date")
   private LocalDate harvestDate;
 
+  /**
+   * The optimistic lock version of the crop, incremented by Hibernate on every change.
+   */
+  @Version
+  private Long version;
+
 
   /**
-   * The farm to which this crop belongs.
+   * The farm to which this crop belongs. Loaded lazily; reading its id does not hit the database.
    */
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "farm_id")
   private Farm farm;
 
   /**
-   * The fertilizers used in this crop.
+   * The fertilizers used in this crop. This is the owning side of the association, stored in the
+   * crop_fertilizer table with (crop_id, fertilizer_id) as primary key and an index on
+   * (fertilizer_id, crop_id) for the reverse lookups. Loaded lazily; use the
+   * {@value #WITH_FERTILIZERS_GRAPH} entity graph when they are needed.
    */
-  @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.PERSIST)
-  private List<Fertilizer> fertilizers;
+  @ManyToMany(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
+  @JoinTable(
+      name = "crop_fertilizer",
+      joinColumns = @JoinColumn(name = "crop_id"),
+      inverseJoinColumns = @JoinColumn(name = "fertilizer_id"),
+      indexes = @Index(
+          name = "idx_crop_fertilizer_fertilizer_id",
+          columnList = "fertilizer_id, crop_id"
+      )
+  )
+  @OrderBy("id")
+  private Set<Fertilizer> fertilizers = new LinkedHashSet<>();
 
   // Construtores, getters e setters
 
@@ -89,7 +155,7 @@ public class Crop {
       LocalDate plantedDate,
       LocalDate harvestDate,
       Farm farm,
-      List<Fertilizer> fertilizers
+      Set<Fertilizer> fertilizers
   ) {
     this.id = id;
     this.name = name;
@@ -213,7 +279,7 @@ public class Crop {
    *
    * @return The fertilizers used in this crop.
    */
-  public List<Fertilizer> getFertilizers() {
+  public Set<Fertilizer> getFertilizers() {
     return fertilizers;
   }
 
@@ -222,7 +288,25 @@ public class Crop {
    *
    * @param fertilizers The fertilizers used in this crop.
    */
-  public void setFertilizers(List<Fertilizer> fertilizers) {
+  public void setFertilizers(Set<Fertilizer> fertilizers) {
     this.fertilizers = fertilizers;
   }
+
+  /**
+   * Get the version of the crop.
+   *
+   * @return The crop's version, or null if it was not persisted yet.
+   */
+  public Long getVersion() {
+    return version;
+  }
+
+  /**
+   * Set the version of the crop.
+   *
+   * @param version The crop's version.
+   */
+  public void setVersion(Long version) {
+    this.version = version;
+  }
 }
@@ -1,23 +1,36 @@
 package com.betrybe.agrix.models.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a farm entity.
  */
 @Entity
 @Table(name = "farm")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Farm.CACHE_REGION)
 public class Farm {
 
+  /**
+   * Name of the second-level cache region holding farm entities.
+   */
+  public static final String CACHE_REGION = "farm";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "farm_seq")
+  @SequenceGenerator(name = "farm_seq", sequenceName = "farm_seq", allocationSize = 50)
   private Long id;
 
   /**
@@ -30,6 +43,12 @@ public class Farm {
    */
   private Double size;
 
+  /**
+   * The optimistic lock version of the farm, incremented by Hibernate on every change.
+   */
+  @Version
+  private Long version;
+
   @OneToMany(mappedBy = "farm")
   @JsonIgnore
   private List<Crop> crops;
@@ -126,4 +145,22 @@ public class Farm {
   public void setCrops(List<Crop> crops) {
     this.crops = crops;
   }
+
+  /**
+   * Get the version of the farm.
+   *
+   * @return The farm's version, or null if it was not persisted yet.
+   */
+  public Long getVersion() {
+    return version;
+  }
+
+  /**
+   * Set the version of the farm.
+   *
+   * @param version The farm's version.
+   */
+  public void setVersion(Long version) {
+    this.version = version;
+  }
 }
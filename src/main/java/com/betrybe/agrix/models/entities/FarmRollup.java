@@ -0,0 +1,127 @@
+package com.betrybe.agrix.models.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * Represents the denormalized summary of the crops of a farm, kept up to date in the same
+ * transaction that writes the crops.
+ */
+@Entity
+@Table(name = "farm_rollup")
+public class FarmRollup {
+
+  /**
+   * The unique identifier of the summarized farm.
+   */
+  @Id
+  @Column(name = "farm_id")
+  private Long farmId;
+
+  /**
+   * The number of crops of the farm.
+   */
+  private long cropCount;
+
+  /**
+   * The sum of the planted area of the crops of the farm.
+   */
+  private double totalPlantedArea;
+
+  /**
+   * The earliest harvest date that was not in the past when the summary was last written. Once
+   * this date passes, the next one is looked up again on read.
+   */
+  private LocalDate nextHarvestDate;
+
+  /**
+   * Default constructor for FarmRollup.
+   */
+  public FarmRollup() {}
+
+  /**
+   * Parameterized constructor for FarmRollup.
+   *
+   * @param farmId           The unique identifier of the summarized farm.
+   * @param cropCount        The number of crops of the farm.
+   * @param totalPlantedArea The sum of the planted area of the crops of the farm.
+   * @param nextHarvestDate  The earliest upcoming harvest date of the crops of the farm.
+   */
+  public FarmRollup(
+      Long farmId,
+      long cropCount,
+      double totalPlantedArea,
+      LocalDate nextHarvestDate
+  ) {
+    this.farmId = farmId;
+    this.cropCount = cropCount;
+    this.totalPlantedArea = totalPlantedArea;
+    this.nextHarvestDate = nextHarvestDate;
+  }
+
+  /**
+   * Get the unique identifier of the summarized farm.
+   *
+   * @return The unique identifier of the summarized farm.
+   */
+  public Long getFarmId() {
+    return farmId;
+  }
+
+  /**
+   * Get the number of crops of the farm.
+   *
+   * @return The number of crops of the farm.
+   */
+  public long getCropCount() {
+    return cropCount;
+  }
+
+  /**
+   * Set the number of crops of the farm.
+   *
+   * @param cropCount The number of crops of the farm.
+   */
+  public void setCropCount(long cropCount) {
+    this.cropCount = cropCount;
+  }
+
+  /**
+   * Get the sum of the planted area of the crops of the farm.
+   *
+   * @return The sum of the planted area of the crops of the farm.
+   */
+  public double getTotalPlantedArea() {
+    return totalPlantedArea;
+  }
+
+  /**
+   * Set the sum of the planted area of the crops of the farm.
+   *
+   * @param totalPlantedArea The sum of the planted area of the crops of the farm.
+   */
+  public void setTotalPlantedArea(double totalPlantedArea) {
+    this.totalPlantedArea = totalPlantedArea;
+  }
+
+  /**
+   * Get the earliest upcoming harvest date of the crops of the farm.
+   *
+   * @return The earliest upcoming harvest date, or null if there is none.
+   */
+  public LocalDate getNextHarvestDate() {
+    return nextHarvestDate;
+  }
+
+  /**
+   * Set the earliest upcoming harvest date of the crops of the farm.
+   *
+   * @param nextHarvestDate The earliest upcoming harvest date, or null if there is none.
+   */
+  public void setNextHarvestDate(LocalDate nextHarvestDate) {
+    this.nextHarvestDate = nextHarvestDate;
+  }
+}
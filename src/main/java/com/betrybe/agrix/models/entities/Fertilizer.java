@@ -1,28 +1,38 @@
 package com.betrybe.agrix.models.entities;
 
-import jakarta.persistence.CascadeType;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import java.util.List;
+import jakarta.persistence.Version;
+import java.util.HashSet;
+import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a fertilizer entity.
  */
 @Entity
 @Table(name = "fertilizer")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Fertilizer.CACHE_REGION)
 public class Fertilizer {
+
+  /**
+   * Name of the second-level cache region holding fertilizer entities.
+   */
+  public static final String CACHE_REGION = "fertilizer";
   /**
    * The unique identifier of the fertilizer.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fertilizer_seq")
+  @SequenceGenerator(name = "fertilizer_seq", sequenceName = "fertilizer_seq", allocationSize = 50)
   private Long id;
 
   /**
@@ -41,15 +51,17 @@ public class Fertilizer {
   private String composition;
 
   /**
-   * The crops to which this fertilizer is applied.
+   * The optimistic lock version of the fertilizer, incremented by Hibernate on every change.
+   */
+  @Version
+  private Long version;
+
+  /**
+   * The crops to which this fertilizer is applied. Inverse side of {@link Crop#getFertilizers()},
+   * loaded lazily.
    */
-  @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.PERSIST)
-  @JoinTable(
-      name = "crop_fertilizer",
-      joinColumns = @JoinColumn(name = "fertilizer_id"),
-      inverseJoinColumns = @JoinColumn(name = "crop_id")
-  )
-  private List<Crop> crops;
+  @ManyToMany(mappedBy = "fertilizers")
+  private Set<Crop> crops = new HashSet<>();
 
   /**
    * Default constructor for Fertilizer.
@@ -65,7 +77,7 @@ public class Fertilizer {
    * @param composition The composition of the fertilizer.
    * @param crops       The crops to which this fertilizer is applied.
    */
-  public Fertilizer(Long id, String name, String brand, String composition, List<Crop> crops) {
+  public Fertilizer(Long id, String name, String brand, String composition, Set<Crop> crops) {
     this.id = id;
     this.name = name;
     this.brand = brand;
@@ -150,7 +162,7 @@ public class Fertilizer {
    *
    * @return The crops to which this fertilizer is applied.
    */
-  public List<Crop> getCrops() {
+  public Set<Crop> getCrops() {
     return crops;
   }
 
@@ -159,7 +171,25 @@ public class Fertilizer {
    *
    * @param crops The crops to which this fertilizer is applied.
    */
-  public void setCrops(List<Crop> crops) {
+  public void setCrops(Set<Crop> crops) {
     this.crops = crops;
   }
+
+  /**
+   * Get the version of the fertilizer.
+   *
+   * @return The fertilizer's version, or null if it was not persisted yet.
+   */
+  public Long getVersion() {
+    return version;
+  }
+
+  /**
+   * Set the version of the fertilizer.
+   *
+   * @param version The fertilizer's version.
+   */
+  public void setVersion(Long version) {
+    this.version = version;
+  }
 }
@@ -1,4 +1,4 @@
-package com.betrybe.agrix.controllers.dto;
+package com.betrybe.agrix.models.projections;
 
 import com.betrybe.agrix.models.entities.Farm;
 import com.fasterxml.jackson.annotation.JsonProperty;
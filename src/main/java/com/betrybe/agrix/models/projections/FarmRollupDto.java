@@ -0,0 +1,35 @@
+package com.betrybe.agrix.models.projections;
+
+import com.betrybe.agrix.models.entities.FarmRollup;
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) representing the FarmRollup entity.
+ *
+ * @param farmId           The unique identifier of the farm.
+ * @param cropCount        The number of crops of the farm.
+ * @param totalPlantedArea The sum of the planted area of the crops of the farm.
+ * @param nextHarvestDate  The earliest harvest date that is today or later, or null if none.
+ */
+public record FarmRollupDto(
+    Long farmId,
+    Long cropCount,
+    Double totalPlantedArea,
+    LocalDate nextHarvestDate
+) {
+
+  /**
+   * Creates a FarmRollupDto from a FarmRollup entity.
+   *
+   * @param rollup The FarmRollup entity to convert.
+   * @return A FarmRollupDto populated with data from the FarmRollup entity.
+   */
+  public static FarmRollupDto fromEntity(FarmRollup rollup) {
+    return new FarmRollupDto(
+        rollup.getFarmId(),
+        rollup.getCropCount(),
+        rollup.getTotalPlantedArea(),
+        rollup.getNextHarvestDate()
+    );
+  }
+}
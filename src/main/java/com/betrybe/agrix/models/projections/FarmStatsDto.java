@@ -0,0 +1,56 @@
+package com.betrybe.agrix.models.projections;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) with the aggregate statistics of the crops of a farm.
+ *
+ * @param farmId             The unique identifier of the farm.
+ * @param farmName           The name of the farm.
+ * @param size               The size of the farm.
+ * @param cropCount          The number of crops of the farm.
+ * @param totalPlantedArea   The sum of the planted area of the crops, zero when there are none.
+ * @param averagePlantedArea The average planted area of the crops, or null when there are none.
+ * @param usedShare          The share of the farm size that is planted, or null when the farm
+ *                           has no size.
+ * @param earliestHarvest    The earliest harvest date of the crops, or null when there is none.
+ * @param latestHarvest      The latest harvest date of the crops, or null when there is none.
+ */
+public record FarmStatsDto(
+    Long farmId,
+    String farmName,
+    Double size,
+    long cropCount,
+    double totalPlantedArea,
+    Double averagePlantedArea,
+    Double usedShare,
+    LocalDate earliestHarvest,
+    LocalDate latestHarvest
+) {
+
+  /**
+   * Creates a FarmStatsDto from the aggregates read by the database, deriving the used share.
+   */
+  public FarmStatsDto(
+      Long farmId,
+      String farmName,
+      Double size,
+      Long cropCount,
+      Double totalPlantedArea,
+      Double averagePlantedArea,
+      LocalDate earliestHarvest,
+      LocalDate latestHarvest
+  ) {
+    this(
+        farmId,
+        farmName,
+        size,
+        cropCount,
+        totalPlantedArea,
+        averagePlantedArea,
+        size != null && size > 0 ? totalPlantedArea / size : null,
+        earliestHarvest,
+        latestHarvest
+    );
+  }
+}
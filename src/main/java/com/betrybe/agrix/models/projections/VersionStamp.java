@@ -0,0 +1,49 @@
+package com.betrybe.agrix.models.projections;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Fertilizer;
+
+/**
+ * Summary of the versions of a collection of entities, from which its ETag is derived without
+ * loading the collection. It is not a hash of the collection: it only tells changes apart while
+ * the collection is append-only, as every collection of the API is. Then adding an entity or an
+ * association grows the count, and updating an entity grows the version sum, since Hibernate
+ * increments the version on every change. Removing members could offset other changes and
+ * repeat an earlier stamp.
+ *
+ * <p>Associating a fertilizer with a crop does not change the version of the crop, as the links
+ * are inserted into crop_fertilizer by a JdbcTemplate; the stamp of the fertilizers of the crop
+ * moves with the count.</p>
+ *
+ * @param count      The number of entities in the collection.
+ * @param versionSum The sum of their versions, plus the version of the owner, if any.
+ * @param maxId      The greatest id in the collection, or zero when it is empty.
+ */
+public record VersionStamp(long count, long versionSum, long maxId) {
+
+  /**
+   * Creates the VersionStamp of the fertilizers of a crop from the loaded entities, matching the
+   * one queried by CropRepository#findFertilizersVersionStamp.
+   *
+   * @param crop The crop, with its fertilizers initialized.
+   * @return The VersionStamp of the fertilizers of the crop.
+   */
+  public static VersionStamp ofFertilizers(Crop crop) {
+    long versionSum = crop.getVersion();
+    long maxId = 0;
+    for (Fertilizer fertilizer : crop.getFertilizers()) {
+      versionSum += fertilizer.getVersion();
+      maxId = Math.max(maxId, fertilizer.getId());
+    }
+    return new VersionStamp(crop.getFertilizers().size(), versionSum, maxId);
+  }
+
+  /**
+   * Returns the entity tag of the collection.
+   *
+   * @return The entity tag, without quotes.
+   */
+  public String etag() {
+    return count + "-" + versionSum + "-" + maxId;
+  }
+}
@@ -0,0 +1,59 @@
+package com.betrybe.agrix.models.reactive;
+
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.projections.FertilizerDto;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking, read-only repository of the crop table, used by the reactive read API.
+ */
+public interface CropReactiveRepository
+    extends R2dbcRepository<CropRow, Long>, CropReactiveSearchRepository {
+
+  /**
+   * Selects crops with the columns of the CropDto record.
+   */
+  String DTO_SELECT = "SELECT id, name, planted_area, planted_date, harvest_date, farm_id "
+      + "FROM crop";
+
+  /**
+   * Streams every crop, in id order, as CropDto records.
+   *
+   * @return A Flux emitting a CropDto for each crop.
+   */
+  @Query(DTO_SELECT + " ORDER BY id")
+  Flux<CropDto> findAllDtos();
+
+  /**
+   * Retrieves a crop by its id as a CropDto.
+   *
+   * @param id The id of the crop.
+   * @return A Mono emitting the crop, or completing empty if it does not exist.
+   */
+  @Query(DTO_SELECT + " WHERE id = :id")
+  Mono<CropDto> findDtoById(@Param("id") Long id);
+
+  /**
+   * Streams the crops of a farm, in id order, as CropDto records.
+   *
+   * @param farmId The id of the farm.
+   * @return A Flux emitting a CropDto for each crop of the farm.
+   */
+  @Query(DTO_SELECT + " WHERE farm_id = :farmId ORDER BY id")
+  Flux<CropDto> findDtosByFarmId(@Param("farmId") Long farmId);
+
+  /**
+   * Streams the fertilizers associated with a crop, in id order, as FertilizerDto records.
+   *
+   * @param cropId The id of the crop.
+   * @return A Flux emitting a FertilizerDto for each fertilizer of the crop.
+   */
+  @Query("SELECT f.id, f.name, f.brand, f.composition FROM fertilizer f "
+      + "JOIN crop_fertilizer cf ON cf.fertilizer_id = f.id "
+      + "WHERE cf.crop_id = :cropId ORDER BY f.id")
+  Flux<FertilizerDto> findFertilizerDtosByCropId(@Param("cropId") Long cropId);
+}
@@ -0,0 +1,35 @@
+package com.betrybe.agrix.models.reactive;
+
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.repositories.search.CropSearchCriteria;
+import com.betrybe.agrix.models.repositories.search.CropSearchCursor;
+import com.betrybe.agrix.models.repositories.search.CropSort;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+
+/**
+ * Repository fragment that searches crops with any combination of optional filters, the
+ * non-blocking counterpart of the CropSearchRepository of the servlet API.
+ */
+public interface CropReactiveSearchRepository {
+
+  /**
+   * Streams the crops matching the criteria as CropDto records, filtered, sorted and limited by
+   * a single SQL query.
+   *
+   * @param criteria  The filters to apply.
+   * @param sort      The attribute to sort by.
+   * @param direction The direction of the sort.
+   * @param after     The cursor of the last crop of the previous page, or null for the first
+   *                  page. Must have been created with the same sort and direction.
+   * @param limit     The maximum number of crops to retrieve, or null to retrieve all of them.
+   * @return A Flux emitting the matching crops, in the requested order.
+   */
+  Flux<CropDto> search(
+      CropSearchCriteria criteria,
+      CropSort sort,
+      Sort.Direction direction,
+      CropSearchCursor after,
+      Integer limit
+  );
+}
@@ -0,0 +1,50 @@
+package com.betrybe.agrix.models.reactive;
+
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.repositories.search.CropSearchCriteria;
+import com.betrybe.agrix.models.repositories.search.CropSearchCursor;
+import com.betrybe.agrix.models.repositories.search.CropSearchQuery;
+import com.betrybe.agrix.models.repositories.search.CropSort;
+import java.time.LocalDate;
+import java.util.Map;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * SQL implementation of {@link CropReactiveSearchRepository}. It runs the same
+ * {@link CropSearchQuery} as the CropSearchRepository of the servlet API.
+ */
+class CropReactiveSearchRepositoryImpl implements CropReactiveSearchRepository {
+
+  private final DatabaseClient databaseClient;
+
+  CropReactiveSearchRepositoryImpl(R2dbcEntityTemplate reactiveEntityTemplate) {
+    this.databaseClient = reactiveEntityTemplate.getDatabaseClient();
+  }
+
+  @Override
+  public Flux<CropDto> search(
+      CropSearchCriteria criteria,
+      CropSort sort,
+      Sort.Direction direction,
+      CropSearchCursor after,
+      Integer limit
+  ) {
+    CropSearchQuery search = CropSearchQuery.of(criteria, sort, direction, after, limit);
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(search.sql());
+    for (Map.Entry<String, Object> parameter : search.parameters().entrySet()) {
+      spec = spec.bind(parameter.getKey(), parameter.getValue());
+    }
+    return spec
+        .map(row -> new CropDto(
+            row.get("id", Long.class),
+            row.get("name", String.class),
+            row.get("planted_area", Double.class),
+            row.get("planted_date", LocalDate.class),
+            row.get("harvest_date", LocalDate.class),
+            row.get("farm_id", Long.class)))
+        .all();
+  }
+}
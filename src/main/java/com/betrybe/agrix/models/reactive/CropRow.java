@@ -0,0 +1,26 @@
+package com.betrybe.agrix.models.reactive;
+
+import java.time.LocalDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only mapping of the crop table for the R2DBC repositories. Rows are projected straight
+ * into CropDto records, this type only identifies the table of the repository.
+ *
+ * @param id          The id of the crop.
+ * @param name        The name of the crop.
+ * @param plantedArea The planted area of the crop.
+ * @param plantedDate The date the crop was planted.
+ * @param harvestDate The date the crop is harvested.
+ * @param farmId      The id of the farm the crop belongs to.
+ */
+@Table("crop")
+public record CropRow(
+    @Id Long id,
+    String name,
+    Double plantedArea,
+    LocalDate plantedDate,
+    LocalDate harvestDate,
+    Long farmId
+) {}
@@ -0,0 +1,36 @@
+package com.betrybe.agrix.models.reactive;
+
+import com.betrybe.agrix.models.projections.FarmDto;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking, read-only repository of the farm table, used by the reactive read API.
+ */
+public interface FarmReactiveRepository extends R2dbcRepository<FarmRow, Long> {
+
+  /**
+   * Selects farms with the columns of the FarmDto record.
+   */
+  String DTO_SELECT = "SELECT id, name, size FROM farm";
+
+  /**
+   * Streams every farm, in id order, as FarmDto records.
+   *
+   * @return A Flux emitting a FarmDto for each farm.
+   */
+  @Query(DTO_SELECT + " ORDER BY id")
+  Flux<FarmDto> findAllDtos();
+
+  /**
+   * Retrieves a farm by its id as a FarmDto.
+   *
+   * @param id The id of the farm.
+   * @return A Mono emitting the farm, or completing empty if it does not exist.
+   */
+  @Query(DTO_SELECT + " WHERE id = :id")
+  Mono<FarmDto> findDtoById(@Param("id") Long id);
+}
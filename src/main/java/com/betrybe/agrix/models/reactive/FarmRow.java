@@ -0,0 +1,15 @@
+package com.betrybe.agrix.models.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only mapping of the farm table for the R2DBC repositories. Rows are projected straight
+ * into FarmDto records, this type only identifies the table of the repository.
+ *
+ * @param id   The id of the farm.
+ * @param name The name of the farm.
+ * @param size The size of the farm.
+ */
+@Table("farm")
+public record FarmRow(@Id Long id, String name, Double size) {}
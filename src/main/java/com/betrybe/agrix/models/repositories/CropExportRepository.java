@@ -0,0 +1,24 @@
+package com.betrybe.agrix.models.repositories;
+
+import com.betrybe.agrix.models.entities.Crop;
+import java.util.stream.Stream;
+
+/**
+ * Repository fragment that streams the whole crop table for exports.
+ */
+public interface CropExportRepository {
+
+  /**
+   * Number of crops read before the caller should clear the persistence context, and the number
+   * of rows fetched per round trip on databases that fetch in chunks.
+   */
+  int STREAM_FETCH_SIZE = 500;
+
+  /**
+   * Streams every crop without holding the result set in memory. Must be consumed inside a
+   * transaction and closed afterwards.
+   *
+   * @return A Stream over all Crop entities.
+   */
+  Stream<Crop> streamAll();
+}
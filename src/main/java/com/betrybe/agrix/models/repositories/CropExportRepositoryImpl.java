@@ -0,0 +1,42 @@
+package com.betrybe.agrix.models.repositories;
+
+import com.betrybe.agrix.models.entities.Crop;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.stream.Stream;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.AvailableHints;
+
+/**
+ * JPA implementation of {@link CropExportRepository}. The fetch size is chosen by database, so
+ * streaming only changes how this query is read and not the rest of the application.
+ */
+class CropExportRepositoryImpl implements CropExportRepository {
+
+  /**
+   * Fetch size that makes MySQL Connector/J stream a forward-only result set row by row instead
+   * of reading it whole, without the server-side cursors of useCursorFetch.
+   */
+  private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public Stream<Crop> streamAll() {
+    return entityManager.createQuery("select c from Crop c", Crop.class)
+        .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize())
+        .setHint(AvailableHints.HINT_READ_ONLY, true)
+        .setHint(AvailableHints.HINT_CACHEABLE, false)
+        .getResultStream();
+  }
+
+  private int fetchSize() {
+    boolean mysql = entityManager.getEntityManagerFactory()
+        .unwrap(SessionFactoryImplementor.class)
+        .getJdbcServices()
+        .getDialect() instanceof MySQLDialect;
+    return mysql ? MYSQL_STREAMING_FETCH_SIZE : STREAM_FETCH_SIZE;
+  }
+}
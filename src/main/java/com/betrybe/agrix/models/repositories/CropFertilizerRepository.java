@@ -0,0 +1,21 @@
+package com.betrybe.agrix.models.repositories;
+
+import com.betrybe.agrix.controllers.dto.CropFertilizerDto;
+import java.util.Collection;
+
+/**
+ * Repository fragment that writes the crop_fertilizer join table directly, without loading the
+ * crops or their fertilizers.
+ */
+public interface CropFertilizerRepository {
+
+  /**
+   * Associates each fertilizer with its crop unless they are already associated, in a single
+   * multi-row statement. The database skips the existing keys itself, including the ones added
+   * concurrently by other transactions, so the call is idempotent and never retried. The crops
+   * and fertilizers must exist.
+   *
+   * @param associations The pairs of crop and fertilizer ids to associate.
+   */
+  void insertMissingAssociations(Collection<CropFertilizerDto> associations);
+}
@@ -0,0 +1,82 @@
+package com.betrybe.agrix.models.repositories;
+
+import com.betrybe.agrix.controllers.dto.CropFertilizerDto;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JdbcTemplate implementation of {@link CropFertilizerRepository}. The associations are inserted
+ * by one multi-row statement that the database itself makes idempotent on the primary key of the
+ * join table: ON DUPLICATE KEY UPDATE on MySQL and MERGE ... KEY on H2. Neither reads the table
+ * before writing, so there is no check-then-insert window to retry and no gap lock taken by a
+ * NOT EXISTS subquery.
+ */
+class CropFertilizerRepositoryImpl implements CropFertilizerRepository {
+
+  /**
+   * Rows sent in one statement, which keeps the number of parameters far below the limit of the
+   * MySQL prepared statements.
+   */
+  private static final int ROWS_PER_STATEMENT = 1000;
+
+  /**
+   * Inserts the rows, leaving the ones whose key already exists untouched. The assignment is a
+   * no-op, so an existing row is not reported as changed.
+   */
+  private static final String MYSQL_INSERT_MISSING =
+      "insert into crop_fertilizer (crop_id, fertilizer_id) values %s "
+      + "on duplicate key update crop_id = crop_id";
+
+  /**
+   * Inserts the rows whose key does not exist yet; the others are updated to the same values.
+   */
+  private static final String H2_INSERT_MISSING =
+      "merge into crop_fertilizer (crop_id, fertilizer_id) key (crop_id, fertilizer_id) values %s";
+
+  private static final String ROW = "(?, ?)";
+
+  private static final Comparator<CropFertilizerDto> KEY_ORDER = Comparator
+      .comparing(CropFertilizerDto::cropId)
+      .thenComparing(CropFertilizerDto::fertilizerId);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final String insertMissing;
+
+  CropFertilizerRepositoryImpl(
+      JdbcTemplate jdbcTemplate,
+      EntityManagerFactory entityManagerFactory
+  ) {
+    this.jdbcTemplate = jdbcTemplate;
+    boolean mysql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getJdbcServices()
+        .getDialect() instanceof MySQLDialect;
+    this.insertMissing = mysql ? MYSQL_INSERT_MISSING : H2_INSERT_MISSING;
+  }
+
+  @Override
+  public void insertMissingAssociations(Collection<CropFertilizerDto> associations) {
+    // Sorted by key, so concurrent statements lock the join rows in the same order
+    List<CropFertilizerDto> rows = associations.stream()
+        .distinct()
+        .sorted(KEY_ORDER)
+        .toList();
+
+    for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+      List<CropFertilizerDto> chunk =
+          rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+      String values = String.join(", ", Collections.nCopies(chunk.size(), ROW));
+      Object[] parameters = chunk.stream()
+          .flatMap(row -> Stream.of(row.cropId(), row.fertilizerId()))
+          .toArray();
+      jdbcTemplate.update(insertMissing.formatted(values), parameters);
+    }
+  }
+}
@@ -1,17 +1,173 @@
 package com.betrybe.agrix.models.repositories;
 
 import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.projections.FarmRollupDto;
+import com.betrybe.agrix.models.projections.FarmStatsDto;
+import com.betrybe.agrix.models.projections.VersionStamp;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Repository interface for accessing and managing Crop entities.
  */
 @Repository
-public interface CropRepository extends JpaRepository<Crop, Long> {
+public interface CropRepository
+    extends JpaRepository<Crop, Long>, CropSearchRepository, CropFertilizerRepository,
+    CropExportRepository {
+
+  /**
+   * Selects crops straight into CropDto records, reading the farm id from the farm_id column.
+   */
+  String DTO_SELECT = "select new com.betrybe.agrix.models.projections.CropDto("
+      + "c.id, c.name, c.plantedArea, c.plantedDate, c.harvestDate, c.farm.id) from Crop c";
+
+  /**
+   * Aggregates the crops of each farm, including farms without crops.
+   */
+  String STATS_SELECT = "select new com.betrybe.agrix.models.projections.FarmStatsDto("
+      + "f.id, f.name, f.size, count(c.id), coalesce(sum(c.plantedArea), 0.0), "
+      + "avg(c.plantedArea), min(c.harvestDate), max(c.harvestDate)) "
+      + "from Farm f left join Crop c on c.farm = f";
+
   List<Crop> findByFarmId(Long farmId);
 
+  /**
+   * Counts the crops with any of the given ids in a single IN query.
+   *
+   * @param ids The unique identifiers of the crops.
+   * @return The number of existing crops among the ids.
+   */
+  long countByIdIn(Collection<Long> ids);
+
+  /**
+   * Retrieves a crop together with its fertilizers in a single query.
+   *
+   * @param id The unique identifier of the crop.
+   * @return An Optional containing the crop with its fertilizers initialized.
+   */
+  @EntityGraph(Crop.WITH_FERTILIZERS_GRAPH)
+  Optional<Crop> findWithFertilizersById(Long id);
+
   List<Crop> findByHarvestDateBetween(LocalDate start, LocalDate end);
+
+  /**
+   * Retrieves every crop as a CropDto, without hydrating Crop entities.
+   *
+   * @return A List containing a CropDto for each crop.
+   */
+  @Query(DTO_SELECT)
+  List<CropDto> findAllDtos();
+
+  /**
+   * Retrieves the crops in the ground on at least one day of the given range as CropDto
+   * records, with the same rules as the in-memory CropIntervalIndex: crops without a planted
+   * date, or harvested before being planted, are left out, and crops without a harvest date are
+   * in the ground from their planted date onwards.
+   *
+   * @param start The first day of the range.
+   * @param end   The last day of the range.
+   * @return A List of CropDto objects ordered by planted date and id.
+   */
+  @Query(DTO_SELECT + " where c.plantedDate <= :end and (c.harvestDate is null "
+      + "or (c.harvestDate >= :start and c.harvestDate >= c.plantedDate)) "
+      + "order by c.plantedDate, c.id")
+  List<CropDto> findActiveDtos(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+  /**
+   * Retrieves the crops of a farm as CropDto records.
+   *
+   * @param farmId The unique identifier of the farm.
+   * @return A List containing a CropDto for each crop of the farm.
+   */
+  @Query(DTO_SELECT + " where c.farm.id = :farmId")
+  List<CropDto> findDtosByFarmId(@Param("farmId") Long farmId);
+
+  /**
+   * Seeks the crops with an id greater than the given cursor, in id order, as CropDto records.
+   *
+   * @param after    The id of the last crop of the previous page.
+   * @param pageable The page size, always read from the first offset.
+   * @return The crops of the next page.
+   */
+  @Query(DTO_SELECT + " where c.id > :after order by c.id")
+  List<CropDto> findDtosAfter(@Param("after") Long after, Pageable pageable);
+
+  /**
+   * Summarizes the versions of the crops of a farm, from which the ETag of its crop list is
+   * derived, with a single GROUP BY query.
+   *
+   * @param farmId The unique identifier of the farm.
+   * @return An Optional containing the VersionStamp, or an empty Optional if the farm is not
+   *         found.
+   */
+  @Query("select new com.betrybe.agrix.models.projections.VersionStamp("
+      + "count(c.id), coalesce(sum(c.version), 0), coalesce(max(c.id), 0)) "
+      + "from Farm f left join Crop c on c.farm = f where f.id = :farmId group by f.id")
+  Optional<VersionStamp> findCropsVersionStamp(@Param("farmId") Long farmId);
+
+  /**
+   * Summarizes the versions of a crop and its fertilizers, from which the ETag of its
+   * fertilizer list is derived, with a single GROUP BY query.
+   *
+   * @param cropId The unique identifier of the crop.
+   * @return An Optional containing the VersionStamp, or an empty Optional if the crop is not
+   *         found.
+   */
+  @Query("select new com.betrybe.agrix.models.projections.VersionStamp("
+      + "count(f.id), coalesce(sum(f.version), 0) + c.version, coalesce(max(f.id), 0)) "
+      + "from Crop c left join c.fertilizers f where c.id = :cropId group by c.id, c.version")
+  Optional<VersionStamp> findFertilizersVersionStamp(@Param("cropId") Long cropId);
+
+  /**
+   * Computes the crop statistics of a farm with a single GROUP BY query.
+   *
+   * @param farmId The unique identifier of the farm.
+   * @return An Optional containing the statistics, or an empty Optional if the farm is not found.
+   */
+  @Query(STATS_SELECT + " where f.id = :farmId group by f.id, f.name, f.size")
+  Optional<FarmStatsDto> findFarmStats(@Param("farmId") Long farmId);
+
+  /**
+   * Computes the crop statistics of every farm with a single GROUP BY query.
+   *
+   * @return A List containing the statistics of each farm, ordered by farm id.
+   */
+  @Query(STATS_SELECT + " group by f.id, f.name, f.size order by f.id")
+  List<FarmStatsDto> findAllFarmStats();
+
+  /**
+   * Recomputes the rollups of the given farms from their crops with a single GROUP BY query.
+   *
+   * @param farmIds The unique identifiers of the farms.
+   * @param today   The current date; earlier harvest dates are not considered upcoming.
+   * @return A List containing the recomputed rollup of each existing farm.
+   */
+  @Query("select new com.betrybe.agrix.models.projections.FarmRollupDto("
+      + "f.id, count(c.id), coalesce(sum(c.plantedArea), 0.0), "
+      + "min(case when c.harvestDate >= :today then c.harvestDate end)) "
+      + "from Farm f left join Crop c on c.farm = f where f.id in :farmIds group by f.id")
+  List<FarmRollupDto> computeRollups(
+      @Param("farmIds") Collection<Long> farmIds,
+      @Param("today") LocalDate today
+  );
+
+  /**
+   * Finds the earliest harvest date of the crops of a farm that is not before the given date.
+   *
+   * @param farmId The unique identifier of the farm.
+   * @param today  The current date.
+   * @return The next harvest date, or null if the farm has no upcoming harvest.
+   */
+  @Query("select min(c.harvestDate) from Crop c "
+      + "where c.farm.id = :farmId and c.harvestDate >= :today")
+  LocalDate findNextHarvestDate(@Param("farmId") Long farmId, @Param("today") LocalDate today);
 }
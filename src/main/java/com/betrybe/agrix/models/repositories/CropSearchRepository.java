@@ -0,0 +1,34 @@
+package com.betrybe.agrix.models.repositories;
+
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.repositories.search.CropSearchCriteria;
+import com.betrybe.agrix.models.repositories.search.CropSearchCursor;
+import com.betrybe.agrix.models.repositories.search.CropSort;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Repository fragment that searches crops with any combination of optional filters.
+ */
+public interface CropSearchRepository {
+
+  /**
+   * Retrieves the crops matching the criteria as CropDto records, filtered, sorted and limited by
+   * a single SQL query.
+   *
+   * @param criteria  The filters to apply.
+   * @param sort      The attribute to sort by.
+   * @param direction The direction of the sort.
+   * @param after     The cursor of the last crop of the previous page, or null for the first
+   *                  page. Must have been created with the same sort and direction.
+   * @param limit     The maximum number of crops to retrieve, or null to retrieve all of them.
+   * @return The matching crops, in the requested order.
+   */
+  List<CropDto> search(
+      CropSearchCriteria criteria,
+      CropSort sort,
+      Sort.Direction direction,
+      CropSearchCursor after,
+      Integer limit
+  );
+}
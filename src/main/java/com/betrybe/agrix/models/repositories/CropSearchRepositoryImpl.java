@@ -0,0 +1,39 @@
+package com.betrybe.agrix.models.repositories;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.repositories.search.CropSearchCriteria;
+import com.betrybe.agrix.models.repositories.search.CropSearchCursor;
+import com.betrybe.agrix.models.repositories.search.CropSearchQuery;
+import com.betrybe.agrix.models.repositories.search.CropSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Native query implementation of {@link CropSearchRepository}. The SQL comes from
+ * {@link CropSearchQuery}, which the reactive read API runs as well, and the rows are mapped to
+ * CropDto records by {@link Crop#DTO_MAPPING}.
+ */
+class CropSearchRepositoryImpl implements CropSearchRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<CropDto> search(
+      CropSearchCriteria criteria,
+      CropSort sort,
+      Sort.Direction direction,
+      CropSearchCursor after,
+      Integer limit
+  ) {
+    CropSearchQuery search = CropSearchQuery.of(criteria, sort, direction, after, limit);
+    Query query = entityManager.createNativeQuery(search.sql(), Crop.DTO_MAPPING);
+    search.parameters().forEach(query::setParameter);
+    return query.getResultList();
+  }
+}
@@ -1,7 +1,16 @@
 package com.betrybe.agrix.models.repositories;
 
 import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.projections.FarmDto;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -10,4 +19,48 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface FarmRepository extends JpaRepository<Farm, Long> {
 
+  /**
+   * Selects farms straight into FarmDto records. Results of these queries are kept in the
+   * query cache, which Hibernate invalidates whenever the farm table is written.
+   */
+  String DTO_SELECT = "select new com.betrybe.agrix.models.projections.FarmDto("
+      + "f.id, f.name, f.size) from Farm f";
+
+  /**
+   * Retrieves every farm as a FarmDto, without hydrating Farm entities.
+   *
+   * @return A List containing a FarmDto for each farm.
+   */
+  @Query(DTO_SELECT)
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+  List<FarmDto> findAllDtos();
+
+  /**
+   * Seeks the farms with an id greater than the given cursor, in id order, as FarmDto records.
+   *
+   * @param after    The id of the last farm of the previous page.
+   * @param pageable The page size, always read from the first offset.
+   * @return The farms of the next page.
+   */
+  @Query(DTO_SELECT + " where f.id > :after order by f.id")
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+  List<FarmDto> findDtosAfter(@Param("after") Long after, Pageable pageable);
+
+  /**
+   * Retrieves the version of a farm, from which its ETag is derived, without loading it.
+   *
+   * @param id The unique identifier of the farm.
+   * @return An Optional containing the version, or an empty Optional if the farm is not found.
+   */
+  @Query("select f.version from Farm f where f.id = :id")
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  /**
+   * Retrieves the ids of every farm, in id order.
+   *
+   * @return A List containing the id of each farm.
+   */
+  @Query("select f.id from Farm f order by f.id")
+  List<Long> findAllIds();
 }
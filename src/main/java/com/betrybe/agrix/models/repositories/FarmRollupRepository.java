@@ -0,0 +1,81 @@
+package com.betrybe.agrix.models.repositories;
+
+import com.betrybe.agrix.models.entities.FarmRollup;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for accessing and managing FarmRollup entities. The updates are atomic
+ * statements on the rollup row, so concurrent crop inserts never lose an increment.
+ */
+@Repository
+public interface FarmRollupRepository extends JpaRepository<FarmRollup, Long> {
+
+  /**
+   * Adds a crop to the rollup of a farm.
+   *
+   * @param farmId       The unique identifier of the farm.
+   * @param plantedArea  The planted area of the new crop.
+   * @return The number of updated rollups.
+   */
+  @Modifying
+  @Query("update FarmRollup r set r.cropCount = r.cropCount + 1, "
+      + "r.totalPlantedArea = r.totalPlantedArea + :plantedArea where r.farmId = :farmId")
+  int addCrop(@Param("farmId") Long farmId, @Param("plantedArea") double plantedArea);
+
+  /**
+   * Moves the next harvest date of a farm back to the given upcoming date, unless the stored
+   * date is already earlier or has passed (a passed date is refreshed when the rollup is read).
+   *
+   * @param farmId      The unique identifier of the farm.
+   * @param harvestDate A harvest date that is today or later.
+   * @param today       The current date.
+   * @return The number of updated rollups.
+   */
+  @Modifying
+  @Query("update FarmRollup r set r.nextHarvestDate = :harvestDate where r.farmId = :farmId "
+      + "and (r.nextHarvestDate is null "
+      + "or (r.nextHarvestDate >= :today and r.nextHarvestDate > :harvestDate))")
+  int offerNextHarvestDate(
+      @Param("farmId") Long farmId,
+      @Param("harvestDate") LocalDate harvestDate,
+      @Param("today") LocalDate today
+  );
+
+  /**
+   * Replaces the next harvest date of a farm with a fresh one, only while the stored date has
+   * passed, so the row is changed by this column alone and a date already refreshed or offered
+   * by a concurrent crop insert is kept.
+   *
+   * @param farmId      The unique identifier of the farm.
+   * @param harvestDate The next harvest date, or null if there is none.
+   * @param today       The current date.
+   * @return The number of updated rollups.
+   */
+  @Modifying
+  @Query("update FarmRollup r set r.nextHarvestDate = :harvestDate where r.farmId = :farmId "
+      + "and r.nextHarvestDate < :today")
+  int refreshNextHarvestDate(
+      @Param("farmId") Long farmId,
+      @Param("harvestDate") LocalDate harvestDate,
+      @Param("today") LocalDate today
+  );
+
+  /**
+   * Retrieves and locks the rollups of the given farms until the end of the transaction, so no
+   * crop of these farms can be written while they are recomputed.
+   *
+   * @param farmIds The unique identifiers of the farms.
+   * @return The existing rollups of the farms.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  List<FarmRollup> findByFarmIdIn(Collection<Long> farmIds);
+}
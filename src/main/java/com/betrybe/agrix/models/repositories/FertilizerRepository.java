@@ -1,7 +1,17 @@
 package com.betrybe.agrix.models.repositories;
 
 import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.models.projections.FertilizerDto;
+import com.betrybe.agrix.models.projections.VersionStamp;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -10,4 +20,50 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface FertilizerRepository extends JpaRepository<Fertilizer, Long> {
 
+  /**
+   * Selects fertilizers straight into FertilizerDto records. Results of these queries are kept in
+   * the query cache, which Hibernate invalidates whenever the fertilizer table is written.
+   */
+  String DTO_SELECT = "select new com.betrybe.agrix.models.projections.FertilizerDto("
+      + "f.id, f.name, f.brand, f.composition) from Fertilizer f";
+
+  /**
+   * Counts the fertilizers with any of the given ids in a single IN query.
+   *
+   * @param ids The unique identifiers of the fertilizers.
+   * @return The number of existing fertilizers among the ids.
+   */
+  long countByIdIn(Collection<Long> ids);
+
+  /**
+   * Retrieves every fertilizer as a FertilizerDto, without hydrating Fertilizer entities.
+   *
+   * @return A List containing a FertilizerDto for each fertilizer.
+   */
+  @Query(DTO_SELECT)
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+  List<FertilizerDto> findAllDtos();
+
+  /**
+   * Summarizes the versions of every fertilizer, from which the ETag of the fertilizer list is
+   * derived.
+   *
+   * @return The VersionStamp of the fertilizer table.
+   */
+  @Query("select new com.betrybe.agrix.models.projections.VersionStamp("
+      + "count(f.id), coalesce(sum(f.version), 0), coalesce(max(f.id), 0)) from Fertilizer f")
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+  VersionStamp findVersionStamp();
+
+  /**
+   * Seeks the fertilizers with an id greater than the given cursor, in id order, as
+   * FertilizerDto records.
+   *
+   * @param after    The id of the last fertilizer of the previous page.
+   * @param pageable The page size, always read from the first offset.
+   * @return The fertilizers of the next page.
+   */
+  @Query(DTO_SELECT + " where f.id > :after order by f.id")
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+  List<FertilizerDto> findDtosAfter(@Param("after") Long after, Pageable pageable);
 }
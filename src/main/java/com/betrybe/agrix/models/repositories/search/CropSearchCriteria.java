@@ -0,0 +1,31 @@
+package com.betrybe.agrix.models.repositories.search;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Optional filters of the crop search. Every filter left null (or empty, for the farm ids) is
+ * ignored; the others are combined with AND. Ranges are inclusive and may be open on either side.
+ *
+ * @param farmIds       The farms the crops must belong to.
+ * @param namePrefix    The text the crop names must start with.
+ * @param plantedFrom   The earliest planted date.
+ * @param plantedTo     The latest planted date.
+ * @param harvestFrom   The earliest harvest date.
+ * @param harvestTo     The latest harvest date.
+ * @param fertilizerId  A fertilizer the crops must use.
+ * @param minArea       The smallest planted area.
+ * @param maxArea       The largest planted area.
+ */
+public record CropSearchCriteria(
+    List<Long> farmIds,
+    String namePrefix,
+    LocalDate plantedFrom,
+    LocalDate plantedTo,
+    LocalDate harvestFrom,
+    LocalDate harvestTo,
+    Long fertilizerId,
+    Double minArea,
+    Double maxArea
+) {
+}
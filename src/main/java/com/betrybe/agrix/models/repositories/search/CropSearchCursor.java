@@ -0,0 +1,79 @@
+package com.betrybe.agrix.models.repositories.search;
+
+import com.betrybe.agrix.models.projections.CropDto;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position of the last crop of a search page: the sort it was read with, its value for the
+ * sorted attribute and its id. Clients receive it as an opaque URL-safe token.
+ *
+ * @param sort      The attribute the search is sorted by.
+ * @param direction The direction of the sort.
+ * @param value     The value of the sorted attribute of the last crop, or null if it has none.
+ * @param id        The id of the last crop.
+ */
+public record CropSearchCursor(
+    CropSort sort,
+    Sort.Direction direction,
+    Comparable<?> value,
+    long id
+) {
+
+  private static final String SEPARATOR = ":";
+
+  private static final String NULL_VALUE = "n";
+
+  private static final String PRESENT_VALUE = "v";
+
+  /**
+   * Creates the cursor that points right after the given crop.
+   *
+   * @param sort      The attribute the search is sorted by.
+   * @param direction The direction of the sort.
+   * @param crop      The last crop of the page.
+   * @return The cursor of the next page.
+   */
+  public static CropSearchCursor after(CropSort sort, Sort.Direction direction, CropDto crop) {
+    return new CropSearchCursor(sort, direction, sort.extract(crop), crop.id());
+  }
+
+  /**
+   * Decodes a cursor from the token returned by {@link #encode()}. Spring uses this method to
+   * convert request parameters, so a malformed token is answered with 400 Bad Request.
+   *
+   * @param token The encoded cursor.
+   * @return The decoded cursor.
+   * @throws IllegalArgumentException If the token is not a valid cursor.
+   */
+  public static CropSearchCursor valueOf(String token) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = decoded.split(SEPARATOR, 4);
+
+      CropSort sort = CropSort.valueOf(parts[0]);
+      Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+      long id = Long.parseLong(parts[2]);
+      Comparable<?> value = parts[3].startsWith(PRESENT_VALUE)
+          ? sort.parse(parts[3].substring(PRESENT_VALUE.length()))
+          : null;
+      return new CropSearchCursor(sort, direction, value, id);
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid search cursor: " + token, e);
+    }
+  }
+
+  /**
+   * Encodes this cursor as an opaque, URL-safe token.
+   *
+   * @return The token to send to the client.
+   */
+  public String encode() {
+    String encodedValue = value != null ? PRESENT_VALUE + value : NULL_VALUE;
+    String plain = String.join(SEPARATOR, sort.name(), direction.name(), Long.toString(id),
+        encodedValue);
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+  }
+}
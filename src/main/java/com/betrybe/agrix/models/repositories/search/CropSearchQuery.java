@@ -0,0 +1,156 @@
+package com.betrybe.agrix.models.repositories.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Sort;
+
+/**
+ * SQL of the crop search, built once for the JPA repository of the servlet API and the R2DBC
+ * repository of the reactive one, so both apply the same filters, order and cursor. Only the
+ * informed filters become predicates, so the database can pick the index of the most selective
+ * one; the sort lists null values last and breaks ties by id.
+ *
+ * @param sql        The query, selecting the columns of {@link #COLUMNS} with named parameters.
+ * @param parameters The values of the named parameters; the farm ids are bound as a collection.
+ */
+public record CropSearchQuery(String sql, Map<String, Object> parameters) {
+
+  /**
+   * Columns selected by the query, in the order of the CropDto constructor.
+   */
+  public static final String COLUMNS =
+      "id, name, planted_area, planted_date, harvest_date, farm_id";
+
+  /**
+   * Escape character of the LIKE patterns. Unlike the backslash, it is written the same way in
+   * the string literals of H2 and MySQL.
+   */
+  private static final String LIKE_ESCAPE = "!";
+
+  /**
+   * Builds the query of a search.
+   *
+   * @param criteria  The filters to apply.
+   * @param sort      The attribute to sort by.
+   * @param direction The direction of the sort.
+   * @param after     The cursor of the last crop of the previous page, or null for the first
+   *                  page. Must have been created with the same sort and direction.
+   * @param limit     The maximum number of crops to retrieve, or null to retrieve all of them.
+   * @return The SQL and its parameters.
+   */
+  public static CropSearchQuery of(
+      CropSearchCriteria criteria,
+      CropSort sort,
+      Sort.Direction direction,
+      CropSearchCursor after,
+      Integer limit
+  ) {
+    Map<String, Object> parameters = new HashMap<>();
+    List<String> predicates = filters(criteria, parameters);
+    if (after != null) {
+      predicates.add(seek(sort, direction, after, parameters));
+    }
+
+    StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM crop");
+    if (!predicates.isEmpty()) {
+      sql.append(" WHERE ").append(String.join(" AND ", predicates));
+    }
+    sql.append(" ORDER BY ").append(order(sort, direction));
+    if (limit != null) {
+      sql.append(" LIMIT ").append(limit.intValue());
+    }
+    return new CropSearchQuery(sql.toString(), Map.copyOf(parameters));
+  }
+
+  private static List<String> filters(
+      CropSearchCriteria criteria,
+      Map<String, Object> parameters
+  ) {
+    List<String> predicates = new ArrayList<>();
+
+    if (criteria.farmIds() != null && !criteria.farmIds().isEmpty()) {
+      predicates.add("farm_id IN (:farmIds)");
+      parameters.put("farmIds", criteria.farmIds());
+    }
+    if (criteria.namePrefix() != null && !criteria.namePrefix().isEmpty()) {
+      predicates.add("name LIKE :namePrefix ESCAPE '" + LIKE_ESCAPE + "'");
+      parameters.put("namePrefix", escapeLike(criteria.namePrefix()) + "%");
+    }
+    if (criteria.plantedFrom() != null) {
+      predicates.add("planted_date >= :plantedFrom");
+      parameters.put("plantedFrom", criteria.plantedFrom());
+    }
+    if (criteria.plantedTo() != null) {
+      predicates.add("planted_date <= :plantedTo");
+      parameters.put("plantedTo", criteria.plantedTo());
+    }
+    if (criteria.harvestFrom() != null) {
+      predicates.add("harvest_date >= :harvestFrom");
+      parameters.put("harvestFrom", criteria.harvestFrom());
+    }
+    if (criteria.harvestTo() != null) {
+      predicates.add("harvest_date <= :harvestTo");
+      parameters.put("harvestTo", criteria.harvestTo());
+    }
+    if (criteria.minArea() != null) {
+      predicates.add("planted_area >= :minArea");
+      parameters.put("minArea", criteria.minArea());
+    }
+    if (criteria.maxArea() != null) {
+      predicates.add("planted_area <= :maxArea");
+      parameters.put("maxArea", criteria.maxArea());
+    }
+    if (criteria.fertilizerId() != null) {
+      predicates.add("EXISTS (SELECT 1 FROM crop_fertilizer cf "
+          + "WHERE cf.crop_id = crop.id AND cf.fertilizer_id = :fertilizerId)");
+      parameters.put("fertilizerId", criteria.fertilizerId());
+    }
+    return predicates;
+  }
+
+  /**
+   * Keeps only the rows after the cursor in the order built by {@link #order}: a greater (or
+   * smaller, when descending) value, the same value with a greater (or smaller) id, or a null
+   * value, which is always listed last.
+   */
+  private static String seek(
+      CropSort sort,
+      Sort.Direction direction,
+      CropSearchCursor after,
+      Map<String, Object> parameters
+  ) {
+    String beyond = direction.isAscending() ? " > " : " < ";
+    String idAfter = "id" + beyond + ":afterId";
+    parameters.put("afterId", after.id());
+    if (sort == CropSort.ID) {
+      return idAfter;
+    }
+
+    String column = sort.column();
+    if (after.value() == null) {
+      return "(" + column + " IS NULL AND " + idAfter + ")";
+    }
+    parameters.put("afterValue", after.value());
+    return "(" + column + beyond + ":afterValue"
+        + " OR (" + column + " = :afterValue AND " + idAfter + ")"
+        + " OR " + column + " IS NULL)";
+  }
+
+  private static String order(CropSort sort, Sort.Direction direction) {
+    String keyword = direction.isAscending() ? " ASC" : " DESC";
+    if (sort == CropSort.ID) {
+      return "id" + keyword;
+    }
+    String column = sort.column();
+    return "CASE WHEN " + column + " IS NULL THEN 1 ELSE 0 END ASC, "
+        + column + keyword + ", id" + keyword;
+  }
+
+  private static String escapeLike(String text) {
+    return text.replace(LIKE_ESCAPE, LIKE_ESCAPE + LIKE_ESCAPE)
+        .replace("%", LIKE_ESCAPE + "%")
+        .replace("_", LIKE_ESCAPE + "_");
+  }
+}
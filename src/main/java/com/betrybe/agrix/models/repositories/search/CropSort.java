@@ -0,0 +1,62 @@
+package com.betrybe.agrix.models.repositories.search;
+
+import com.betrybe.agrix.models.projections.CropDto;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Attributes the crop search can be sorted by. Crops with a null value are always listed last,
+ * and ties are broken by id, in the same direction as the sort.
+ */
+public enum CropSort {
+
+  ID("id", Long::valueOf, CropDto::id),
+  NAME("name", Function.identity(), CropDto::name),
+  PLANTED_DATE("planted_date", LocalDate::parse, CropDto::plantedDate),
+  HARVEST_DATE("harvest_date", LocalDate::parse, CropDto::harvestDate),
+  PLANTED_AREA("planted_area", Double::valueOf, CropDto::plantedArea);
+
+  private final String column;
+
+  private final Function<String, ? extends Comparable<?>> parser;
+
+  private final Function<CropDto, ? extends Comparable<?>> extractor;
+
+  CropSort(
+      String column,
+      Function<String, ? extends Comparable<?>> parser,
+      Function<CropDto, ? extends Comparable<?>> extractor
+  ) {
+    this.column = column;
+    this.parser = parser;
+    this.extractor = extractor;
+  }
+
+  /**
+   * Name of the crop column to sort by.
+   */
+  public String column() {
+    return column;
+  }
+
+  /**
+   * Reads a value of this attribute from its string form, as written by its toString method.
+   *
+   * @param value The string form of the value.
+   * @return The parsed value.
+   * @throws RuntimeException If the value is not valid for this attribute.
+   */
+  public Comparable<?> parse(String value) {
+    return parser.apply(value);
+  }
+
+  /**
+   * Extracts the value of this attribute from a crop.
+   *
+   * @param crop The crop to read.
+   * @return The value of the attribute, or null if the crop has none.
+   */
+  public Comparable<?> extract(CropDto crop) {
+    return extractor.apply(crop);
+  }
+}
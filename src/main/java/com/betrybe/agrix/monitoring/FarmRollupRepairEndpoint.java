@@ -0,0 +1,33 @@
+package com.betrybe.agrix.monitoring;
+
+import com.betrybe.agrix.services.FarmRollupRepairReport;
+import com.betrybe.agrix.services.FarmRollupService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint that runs the farm rollup repair job on demand (POST /actuator/rollups). It
+ * is not part of the public API and, like any actuator endpoint, is only reachable over HTTP
+ * once listed in management.endpoints.web.exposure.include, preferably on a management port.
+ */
+@Component
+@Endpoint(id = "rollups")
+public class FarmRollupRepairEndpoint {
+
+  private final FarmRollupService farmRollupService;
+
+  public FarmRollupRepairEndpoint(FarmRollupService farmRollupService) {
+    this.farmRollupService = farmRollupService;
+  }
+
+  /**
+   * Recomputes the rollups of every farm from their crops, fixing the ones that drifted.
+   *
+   * @return The report of the repair.
+   */
+  @WriteOperation
+  public FarmRollupRepairReport repair() {
+    return farmRollupService.repairRollups();
+  }
+}
@@ -0,0 +1,106 @@
+package com.betrybe.agrix.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements of every HTTP request and checks them against the budget of its
+ * route, identified by the method and the matched pattern, e.g. "GET /crops/{cropId}". The
+ * statements are published in the agrix.http.statements summary; a request over its budget is
+ * logged as a warning and counted in agrix.http.statements.over.budget.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+  private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+  private final Map<String, Integer> budgets;
+
+  private final Integer defaultBudget;
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Creates the filter with the budgets of the routes.
+   *
+   * @param routes        The budgets per route, as "METHOD /pattern=statements".
+   * @param defaultBudget The budget of the other routes, or null for no limit.
+   * @param meterRegistry The registry the statements are published to.
+   * @throws IllegalArgumentException If a route budget is malformed.
+   */
+  public QueryBudgetFilter(List<String> routes, Integer defaultBudget,
+      MeterRegistry meterRegistry) {
+    this.budgets = parseBudgets(routes);
+    this.defaultBudget = defaultBudget;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    try (StatementCounter.Scope scope = StatementCounter.open()) {
+      filterChain.doFilter(request, response);
+
+      Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      if (pattern != null) {
+        record(request.getMethod(), pattern.toString(), scope.count());
+      }
+    }
+  }
+
+  /**
+   * Returns the budget of a route.
+   *
+   * @param method  The HTTP method of the route.
+   * @param pattern The path pattern of the route.
+   * @return The maximum number of statements of a request, or null for no limit.
+   */
+  public Integer budgetOf(String method, String pattern) {
+    return budgets.getOrDefault(method + " " + pattern, defaultBudget);
+  }
+
+  private void record(String method, String pattern, long statements) {
+    DistributionSummary.builder("agrix.http.statements")
+        .description("SQL statements executed per HTTP request")
+        .baseUnit("statements")
+        .tag("method", method)
+        .tag("uri", pattern)
+        .register(meterRegistry)
+        .record(statements);
+
+    Integer budget = budgetOf(method, pattern);
+    if (budget != null && statements > budget) {
+      log.warn("{} {} issued {} SQL statements, over its budget of {}", method, pattern,
+          statements, budget);
+      meterRegistry.counter("agrix.http.statements.over.budget", "method", method, "uri", pattern)
+          .increment();
+    }
+  }
+
+  private static Map<String, Integer> parseBudgets(List<String> routes) {
+    Map<String, Integer> budgets = new HashMap<>();
+    for (String route : routes) {
+      int separator = route.lastIndexOf('=');
+      String[] methodAndPattern = route.substring(0, Math.max(separator, 0)).trim().split("\\s+");
+      if (separator < 0 || methodAndPattern.length != 2) {
+        throw new IllegalArgumentException(
+            "Invalid query budget '" + route + "', expected METHOD /pattern=statements");
+      }
+      String key = methodAndPattern[0].toUpperCase(Locale.ROOT) + " " + methodAndPattern[1];
+      budgets.put(key, Integer.valueOf(route.substring(separator + 1).trim()));
+    }
+    return budgets;
+  }
+}
@@ -0,0 +1,42 @@
+package com.betrybe.agrix.monitoring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Writes the SQL statements executed so far by the request in the X-Query-Count header, just
+ * before the body is written. Streamed bodies are written after the response is committed, so
+ * they carry no header. Enabled by agrix.query-budget.header=true.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(
+    name = {"agrix.query-budget.enabled", "agrix.query-budget.header"},
+    havingValue = "true"
+)
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+  public static final String HEADER = "X-Query-Count";
+
+  @Override
+  public boolean supports(MethodParameter returnType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType,
+      MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request, ServerHttpResponse response) {
+    StatementCounter.Scope scope = StatementCounter.current();
+    if (scope != null) {
+      response.getHeaders().set(HEADER, Long.toString(scope.count()));
+    }
+    return body;
+  }
+}
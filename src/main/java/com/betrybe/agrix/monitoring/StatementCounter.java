@@ -0,0 +1,86 @@
+package com.betrybe.agrix.monitoring;
+
+/**
+ * Counts the JDBC statements executed by the current thread while a scope is open. Scopes nest:
+ * a statement is counted by every scope open on the thread, so a test can open its own scope
+ * around a MockMvc call and still see the statements counted by the request filter.
+ *
+ * <pre>
+ * try (StatementCounter.Scope scope = StatementCounter.open()) {
+ *   mockMvc.perform(get("/crops"));
+ *   assertEquals(1, scope.count());
+ * }
+ * </pre>
+ *
+ * <p>Only the statements of the opening thread are counted; work handed to other threads, such
+ * as the body of a streamed response, is not.</p>
+ */
+public final class StatementCounter {
+
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  private StatementCounter() {
+  }
+
+  /**
+   * Opens a new scope on the current thread, nested in the scope already open, if any.
+   *
+   * @return The new scope, which must be closed by the same thread.
+   */
+  public static Scope open() {
+    Scope scope = new Scope(CURRENT.get());
+    CURRENT.set(scope);
+    return scope;
+  }
+
+  /**
+   * Returns the innermost scope open on the current thread.
+   *
+   * @return The current scope, or null when no scope is open.
+   */
+  public static Scope current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Counts one executed statement in every scope open on the current thread.
+   */
+  static void increment() {
+    for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+      scope.count++;
+    }
+  }
+
+  /**
+   * The statements counted since a scope was opened.
+   */
+  public static final class Scope implements AutoCloseable {
+
+    private final Scope parent;
+
+    private long count;
+
+    private Scope(Scope parent) {
+      this.parent = parent;
+    }
+
+    /**
+     * Returns the number of statements executed since the scope was opened.
+     */
+    public long count() {
+      return count;
+    }
+
+    /**
+     * Closes the scope, making its parent the current scope again.
+     */
+    @Override
+    public void close() {
+      if (parent == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(parent);
+      }
+    }
+  }
+}
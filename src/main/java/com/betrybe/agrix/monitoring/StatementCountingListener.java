@@ -0,0 +1,22 @@
+package com.betrybe.agrix.monitoring;
+
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Datasource-proxy listener that counts every statement execution in the scopes of the
+ * {@link StatementCounter}. A JDBC batch is one round trip and counts as a single statement.
+ */
+public class StatementCountingListener implements QueryExecutionListener {
+
+  @Override
+  public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+  }
+
+  @Override
+  public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    StatementCounter.increment();
+  }
+}
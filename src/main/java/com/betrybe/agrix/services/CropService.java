@@ -1,15 +1,30 @@
 package com.betrybe.agrix.services;
 
+import com.betrybe.agrix.controllers.dto.CropFertilizerDto;
 import com.betrybe.agrix.models.entities.Crop;
-import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.projections.VersionStamp;
 import com.betrybe.agrix.models.repositories.CropRepository;
 import com.betrybe.agrix.models.repositories.FertilizerRepository;
+import com.betrybe.agrix.models.repositories.search.CropSearchCriteria;
+import com.betrybe.agrix.models.repositories.search.CropSearchCursor;
+import com.betrybe.agrix.models.repositories.search.CropSort;
 import com.betrybe.agrix.services.exception.CropNotFoundException;
 import com.betrybe.agrix.services.exception.FertilizerNotFoundException;
+import com.betrybe.agrix.services.index.CropIntervalIndex;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,10 +38,25 @@ public class CropService {
 
   private final FertilizerRepository fertilizerRepository;
 
+  private final EntityManager entityManager;
+
+  private final Optional<CropIntervalIndex> cropIntervalIndex;
+
+  /**
+   * Constructs the CropService with its repositories, the shared EntityManager and the index of
+   * crop periods, which only exists when agrix.crop-index.single-instance is true.
+   */
   @Autowired
-  public CropService(CropRepository cropRepository, FertilizerRepository fertilizerRepository) {
+  public CropService(
+      CropRepository cropRepository,
+      FertilizerRepository fertilizerRepository,
+      EntityManager entityManager,
+      Optional<CropIntervalIndex> cropIntervalIndex
+  ) {
     this.cropRepository = cropRepository;
     this.fertilizerRepository = fertilizerRepository;
+    this.entityManager = entityManager;
+    this.cropIntervalIndex = cropIntervalIndex;
   }
 
   /**
@@ -36,34 +66,124 @@ public class CropService {
    * @return An Optional containing the retrieved Crop entity,
    *         or an empty Optional if no crop with the specified ID is found.
    */
+  @Transactional(readOnly = true)
   public Optional<Crop> getCropById(Long id) {
     return cropRepository.findById(id);
   }
 
   /**
-   * Retrieves all Crop entities from the database.
+   * Retrieves a crop by its unique identifier, fetching its fertilizers in the same query.
+   *
+   * @param id The unique identifier of the crop to retrieve.
+   * @return An Optional containing the retrieved Crop entity with its fertilizers,
+   *         or an empty Optional if no crop with the specified ID is found.
+   */
+  @Transactional(readOnly = true)
+  public Optional<Crop> getCropWithFertilizersById(Long id) {
+    return cropRepository.findWithFertilizersById(id);
+  }
+
+  /**
+   * Summarizes the versions of a crop and its fertilizers without loading them.
+   *
+   * @param id The unique identifier of the crop.
+   * @return An Optional containing the VersionStamp of the fertilizers of the crop, or an empty
+   *         Optional if no crop with the specified ID is found.
+   */
+  @Transactional(readOnly = true)
+  public Optional<VersionStamp> getFertilizersVersionStamp(Long id) {
+    return cropRepository.findFertilizersVersionStamp(id);
+  }
+
+  /**
+   * Retrieves all crops from the database, projected straight into DTOs.
+   *
+   * @return A List containing a CropDto for each crop.
+   */
+  @Transactional(readOnly = true)
+  public List<CropDto> getAllCrops() {
+    return cropRepository.findAllDtos();
+  }
+
+  /**
+   * Retrieves a page of crops using keyset pagination, projected straight into DTOs.
+   *
+   * @param after The id of the last crop of the previous page, or zero for the first page.
+   * @param limit The maximum number of crops to retrieve.
+   * @return A List containing at most limit CropDto objects with an id greater than after.
+   */
+  @Transactional(readOnly = true)
+  public List<CropDto> getCropsAfter(long after, int limit) {
+    return cropRepository.findDtosAfter(after, PageRequest.ofSize(limit));
+  }
+
+  /**
+   * Streams every Crop entity to the given consumer without keeping them in memory. The
+   * persistence context is cleared after each fetched chunk, so heap use does not grow with the
+   * size of the table.
+   *
+   * @param consumer The consumer that receives each Crop entity, in no particular order.
+   * @return The number of Crop entities given to the consumer.
+   */
+  @Transactional(readOnly = true)
+  public long exportCrops(Consumer<Crop> consumer) {
+    try (Stream<Crop> crops = cropRepository.streamAll()) {
+      Iterator<Crop> iterator = crops.iterator();
+      long processed = 0;
+      while (iterator.hasNext()) {
+        consumer.accept(iterator.next());
+        if (++processed % CropRepository.STREAM_FETCH_SIZE == 0) {
+          entityManager.clear();
+        }
+      }
+      return processed;
+    }
+  }
+
+  /**
+   * Searches the crops matching the criteria, filtering, sorting and paginating them in the
+   * database.
    *
-   * @return A List containing all Crop entities.
+   * @param criteria  The optional filters to apply.
+   * @param sort      The attribute to sort by.
+   * @param direction The direction of the sort.
+   * @param after     The cursor of the last crop of the previous page, or null for the first page.
+   * @param limit     The maximum number of crops to retrieve, or null to retrieve all of them.
+   * @return A List containing the matching CropDto objects, in the requested order.
    */
-  public List<Crop> getAllCrops() {
-    return cropRepository.findAll();
+  @Transactional(readOnly = true)
+  public List<CropDto> searchCrops(
+      CropSearchCriteria criteria,
+      CropSort sort,
+      Sort.Direction direction,
+      CropSearchCursor after,
+      Integer limit
+  ) {
+    return cropRepository.search(criteria, sort, direction, after, limit);
   }
 
   /**
-   * Retrieves a list of Crop entities with harvest dates between specified start and end dates,
-   * inclusively.
+   * Retrieves the crops that are in the ground on at least one day between the specified dates,
+   * inclusively. A single instance answers from its in-memory index instead of the database;
+   * otherwise the index would miss the crops inserted by the other instances, so the database is
+   * queried.
    *
-   * @param start The start date for filtering crops.
-   * @param end   The end date for filtering crops.
-   * @return A List containing Crop entities with harvest dates between start and end dates,
-   *         inclusively.
+   * @param start The first day of the period.
+   * @param end   The last day of the period.
+   * @return A List containing CropDto objects planted on or before end and harvested on or after
+   *         start (or not harvested yet), ordered by planted date.
    */
-  public List<Crop> getByHarvestDate(LocalDate start, LocalDate end) {
-    return cropRepository.findByHarvestDateBetween(start, end);
+  @Transactional(readOnly = true)
+  public List<CropDto> getActiveCrops(LocalDate start, LocalDate end) {
+    return cropIntervalIndex
+        .map(index -> index.findActive(start, end))
+        .orElseGet(() -> cropRepository.findActiveDtos(start, end));
   }
 
   /**
-   * Associates a fertilizer with a crop.
+   * Associates a fertilizer with a crop. Only the existence of both is checked; the join row is
+   * inserted if absent, without loading the crop or its fertilizers, so concurrent calls for the
+   * same crop neither conflict nor lose each other's associations.
    *
    * @param cropId       The unique identifier of the crop.
    * @param fertilizerId The unique identifier of the fertilizer.
@@ -73,13 +193,47 @@ public class CropService {
   @Transactional
   public void addFertilizerToCrop(long cropId, long fertilizerId)
       throws CropNotFoundException, FertilizerNotFoundException {
-    Crop crop = cropRepository.findById(cropId)
-        .orElseThrow(CropNotFoundException::new);
-    Fertilizer fertilizer = fertilizerRepository.findById(fertilizerId)
-        .orElseThrow(FertilizerNotFoundException::new);
+    if (!cropRepository.existsById(cropId)) {
+      throw new CropNotFoundException();
+    }
+    if (!fertilizerRepository.existsById(fertilizerId)) {
+      throw new FertilizerNotFoundException();
+    }
+
+    cropRepository.insertMissingAssociations(List.of(new CropFertilizerDto(cropId, fertilizerId)));
+  }
+
+  /**
+   * Associates many fertilizers with many crops at once. The existence of the crops and of the
+   * single multi-row statement; associations that already exist are left untouched.
+   * single batch; associations that already exist are left untouched.
+   *
+   * @param associations The pairs of crop and fertilizer ids to associate.
+   * @throws CropNotFoundException       If any of the crops is not found.
+   * @throws FertilizerNotFoundException If any of the fertilizers is not found.
+   */
+  @Transactional
+  public void addFertilizersToCrops(Collection<CropFertilizerDto> associations)
+      throws CropNotFoundException, FertilizerNotFoundException {
+    if (associations.isEmpty()) {
+      return;
+    }
+
+    Set<Long> cropIds = new HashSet<>();
+    Set<Long> fertilizerIds = new HashSet<>();
+    for (CropFertilizerDto association : associations) {
+      cropIds.add(association.cropId());
+      fertilizerIds.add(association.fertilizerId());
+    }
 
-    crop.getFertilizers().add(fertilizer);
+    if (cropIds.contains(null) || cropRepository.countByIdIn(cropIds) != cropIds.size()) {
+      throw new CropNotFoundException();
+    }
+    if (fertilizerIds.contains(null)
+        || fertilizerRepository.countByIdIn(fertilizerIds) != fertilizerIds.size()) {
+      throw new FertilizerNotFoundException();
+    }
 
-    cropRepository.save(crop);
+    cropRepository.insertMissingAssociations(associations);
   }
 }
@@ -0,0 +1,17 @@
+package com.betrybe.agrix.services;
+
+import java.util.List;
+
+/**
+ * Outcome of a run of the farm rollup repair job.
+ *
+ * @param farmsChecked   The number of farms whose rollup was recomputed.
+ * @param driftedFarmIds The farms whose stored rollup did not match their crops and was fixed.
+ * @param elapsedMillis  How long the run took, in milliseconds.
+ */
+public record FarmRollupRepairReport(
+    long farmsChecked,
+    List<Long> driftedFarmIds,
+    long elapsedMillis
+) {
+}
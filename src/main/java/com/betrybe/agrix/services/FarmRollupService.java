@@ -0,0 +1,222 @@
+package com.betrybe.agrix.services;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.FarmRollup;
+import com.betrybe.agrix.models.projections.FarmRollupDto;
+import com.betrybe.agrix.models.repositories.CropRepository;
+import com.betrybe.agrix.models.repositories.FarmRepository;
+import com.betrybe.agrix.models.repositories.FarmRollupRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for maintaining the FarmRollup of each farm. Every path that writes crops must
+ * call the matching hook inside its own transaction, so the rollup commits (or rolls back)
+ * together with the crops. Crops can only be inserted for now; a path that deletes or moves
+ * crops must come with its own hook.
+ */
+@Service
+public class FarmRollupService {
+
+  private static final Logger log = LoggerFactory.getLogger(FarmRollupService.class);
+
+  /**
+   * Largest difference between two planted area totals still considered equal, absorbing the
+   * rounding of the incremental sums.
+   */
+  private static final double AREA_TOLERANCE = 1e-6;
+
+  private final FarmRollupRepository farmRollupRepository;
+
+  private final FarmRepository farmRepository;
+
+  private final CropRepository cropRepository;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final int repairChunkSize;
+
+  private final int repairParallelism;
+
+  /**
+   * Constructs the FarmRollupService with its repositories and the settings of the repair job.
+   */
+  @Autowired
+  public FarmRollupService(
+      FarmRollupRepository farmRollupRepository,
+      FarmRepository farmRepository,
+      CropRepository cropRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${agrix.rollup.repair.chunk-size:1000}") int repairChunkSize,
+      @Value("${agrix.rollup.repair.parallelism:4}") int repairParallelism
+  ) {
+    this.farmRollupRepository = farmRollupRepository;
+    this.farmRepository = farmRepository;
+    this.cropRepository = cropRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.repairChunkSize = repairChunkSize;
+    this.repairParallelism = repairParallelism;
+  }
+
+  /**
+   * Creates the empty rollup of a new farm.
+   *
+   * @param farmId The unique identifier of the new farm.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void onFarmCreated(Long farmId) {
+    farmRollupRepository.save(new FarmRollup(farmId, 0, 0.0, null));
+  }
+
+  /**
+   * Adds a new crop to the rollup of its farm.
+   *
+   * @param farmId The unique identifier of the farm of the crop.
+   * @param crop   The inserted crop.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void onCropAdded(Long farmId, Crop crop) {
+    farmRollupRepository.addCrop(farmId, plantedArea(crop));
+
+    LocalDate today = LocalDate.now();
+    if (isUpcoming(crop.getHarvestDate(), today)) {
+      farmRollupRepository.offerNextHarvestDate(farmId, crop.getHarvestDate(), today);
+    }
+  }
+
+  /**
+   * Retrieves the rollup of a farm. A next harvest date that has passed since the rollup was
+   * written is looked up again and stored with a guarded update of that column only; the loaded
+   * rollup itself is never changed, so the flush cannot overwrite the counters incremented by
+   * concurrent crop inserts.
+   *
+   * @param farmId The unique identifier of the farm.
+   * @return An Optional containing the rollup of the farm,
+   *         or an empty Optional if no farm with the specified ID is found.
+   */
+  @Transactional
+  public Optional<FarmRollupDto> getFarmRollup(Long farmId) {
+    LocalDate today = LocalDate.now();
+
+    return farmRollupRepository.findById(farmId).map(rollup -> {
+      FarmRollupDto dto = FarmRollupDto.fromEntity(rollup);
+      LocalDate next = dto.nextHarvestDate();
+      if (next == null || !next.isBefore(today)) {
+        return dto;
+      }
+      LocalDate refreshed = cropRepository.findNextHarvestDate(farmId, today);
+      farmRollupRepository.refreshNextHarvestDate(farmId, refreshed, today);
+      return new FarmRollupDto(dto.farmId(), dto.cropCount(), dto.totalPlantedArea(), refreshed);
+    });
+  }
+
+  /**
+   * Recomputes the rollup of every farm from the crop table and fixes the ones that drifted.
+   * Only reachable from the scheduler and the rollups actuator endpoint, never from the public
+   * API, as it locks every rollup row for the duration of its chunk.
+   * Farms are processed in chunks, several chunks in parallel, each in its own transaction that
+   * locks the rollups of the chunk so concurrent crop inserts wait for it instead of being lost.
+   *
+   * @return A report with the number of checked farms and the ids of the drifted ones.
+   */
+  public FarmRollupRepairReport repairRollups() {
+    long started = System.nanoTime();
+    LocalDate today = LocalDate.now();
+    List<Long> farmIds = farmRepository.findAllIds();
+
+    List<List<Long>> chunks = new ArrayList<>();
+    for (int from = 0; from < farmIds.size(); from += repairChunkSize) {
+      chunks.add(farmIds.subList(from, Math.min(from + repairChunkSize, farmIds.size())));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(repairParallelism);
+    try {
+      List<CompletableFuture<List<Long>>> runs = chunks.stream()
+          .map(chunk -> CompletableFuture.supplyAsync(
+              () -> transactionTemplate.execute(status -> repairChunk(chunk, today)), executor))
+          .toList();
+      List<Long> drifted = runs.stream()
+          .map(CompletableFuture::join)
+          .flatMap(List::stream)
+          .sorted()
+          .toList();
+
+      long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+      if (!drifted.isEmpty()) {
+        log.warn("Repaired drifted rollups of {} of {} farms: {}", drifted.size(),
+            farmIds.size(), drifted);
+      }
+      log.info("Checked the rollups of {} farms in {} ms", farmIds.size(), elapsedMillis);
+      return new FarmRollupRepairReport(farmIds.size(), drifted, elapsedMillis);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Runs {@link #repairRollups()} on the schedule of agrix.rollup.repair.cron, which is disabled
+   * by default.
+   */
+  @Scheduled(cron = "${agrix.rollup.repair.cron:-}")
+  public void scheduledRepair() {
+    repairRollups();
+  }
+
+  private List<Long> repairChunk(List<Long> farmIds, LocalDate today) {
+    Map<Long, FarmRollup> stored = farmRollupRepository.findByFarmIdIn(farmIds).stream()
+        .collect(Collectors.toMap(FarmRollup::getFarmId, Function.identity()));
+    List<Long> drifted = new ArrayList<>();
+
+    for (FarmRollupDto actual : cropRepository.computeRollups(farmIds, today)) {
+      FarmRollup rollup = stored.get(actual.farmId());
+
+      if (rollup == null) {
+        farmRollupRepository.save(new FarmRollup(actual.farmId(), actual.cropCount(),
+            actual.totalPlantedArea(), actual.nextHarvestDate()));
+        drifted.add(actual.farmId());
+        continue;
+      }
+
+      LocalDate storedNext = rollup.getNextHarvestDate();
+      boolean nextHarvestPassed = storedNext != null && storedNext.isBefore(today);
+      boolean drift = rollup.getCropCount() != actual.cropCount()
+          || Math.abs(rollup.getTotalPlantedArea() - actual.totalPlantedArea()) > AREA_TOLERANCE
+          || !nextHarvestPassed && !Objects.equals(storedNext, actual.nextHarvestDate());
+      if (drift) {
+        drifted.add(actual.farmId());
+      }
+
+      rollup.setCropCount(actual.cropCount());
+      rollup.setTotalPlantedArea(actual.totalPlantedArea());
+      rollup.setNextHarvestDate(actual.nextHarvestDate());
+    }
+    return drifted;
+  }
+
+  private static double plantedArea(Crop crop) {
+    return crop.getPlantedArea() != null ? crop.getPlantedArea() : 0.0;
+  }
+
+  private static boolean isUpcoming(LocalDate harvestDate, LocalDate today) {
+    return harvestDate != null && !harvestDate.isBefore(today);
+  }
+}
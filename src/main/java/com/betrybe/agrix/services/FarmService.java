@@ -2,12 +2,19 @@ package com.betrybe.agrix.services;
 
 import com.betrybe.agrix.models.entities.Crop;
 import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.projections.FarmDto;
+import com.betrybe.agrix.models.projections.FarmStatsDto;
+import com.betrybe.agrix.models.projections.VersionStamp;
 import com.betrybe.agrix.models.repositories.CropRepository;
 import com.betrybe.agrix.models.repositories.FarmRepository;
+import com.betrybe.agrix.services.index.CropIntervalIndex;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service class for managing Farm entities.
@@ -19,30 +26,51 @@ public class FarmService {
 
   private final CropRepository cropRepository;
 
+  private final Optional<CropIntervalIndex> cropIntervalIndex;
+
+  private final FarmRollupService farmRollupService;
+
+  /**
+   * Constructs the FarmService with its repositories, the index of crop periods, which only
+   * exists when agrix.crop-index.single-instance is true, and the service maintaining the farm
+   * rollups.
+   */
   @Autowired
-  public FarmService(FarmRepository farmRepository, CropRepository cropRepository) {
+  public FarmService(
+      FarmRepository farmRepository,
+      CropRepository cropRepository,
+      Optional<CropIntervalIndex> cropIntervalIndex,
+      FarmRollupService farmRollupService
+  ) {
     this.farmRepository = farmRepository;
     this.cropRepository = cropRepository;
+    this.cropIntervalIndex = cropIntervalIndex;
+    this.farmRollupService = farmRollupService;
   }
 
   /**
-   * Inserts a new Farm entity into the database.
+   * Inserts a new Farm entity into the database, together with its empty rollup.
    *
    * @param farm The Farm entity to be inserted.
    * @return The inserted Farm entity.
    */
+  @Transactional
   public Farm insertFarm(Farm farm) {
-    return farmRepository.save(farm);
+    Farm newFarm = farmRepository.save(farm);
+    farmRollupService.onFarmCreated(newFarm.getId());
+    return newFarm;
   }
 
   /**
-   * Inserts a new crop associated with a farm.
+   * Inserts a new crop associated with a farm, updating the rollup of the farm in the same
+   * transaction.
    *
    * @param farmId The ID of the farm to associate the crop with.
    * @param crop   The Crop entity to insert.
    * @return An Optional containing the inserted Crop entity,
    *         or an empty Optional if the farm with farmId is not found.
    */
+  @Transactional
   public Optional<Crop> insertCrop(Long farmId, Crop crop) {
     Optional<Farm> optionalFarm = farmRepository.findById(farmId);
 
@@ -50,6 +78,8 @@ public class FarmService {
       Farm farm = optionalFarm.get();
       crop.setFarm(farm);
       Crop newCrop = cropRepository.save(crop);
+      farmRollupService.onCropAdded(farmId, newCrop);
+      cropIntervalIndex.ifPresent(index -> index.add(CropDto.fromEntity(newCrop)));
       return Optional.of(newCrop);
     }
 
@@ -63,27 +93,88 @@ public class FarmService {
    * @return An Optional containing the retrieved Farm entity,
    *         or an empty Optional if no farm with the specified ID is found.
    */
+  @Transactional(readOnly = true)
   public Optional<Farm> getFarmById(Long id) {
     return farmRepository.findById(id);
   }
 
   /**
-   * Retrieves all Farm entities from the database.
+   * Retrieves the version of a farm without loading it.
    *
-   * @return A List containing all Farm entities.
+   * @param id The unique identifier of the farm.
+   * @return An Optional containing the version, or an empty Optional if no farm with the
+   *         specified ID is found.
    */
-  public List<Farm> getAllFarms() {
-    return farmRepository.findAll();
+  @Transactional(readOnly = true)
+  public Optional<Long> getFarmVersion(Long id) {
+    return farmRepository.findVersionById(id);
   }
 
   /**
-   * Retrieves a list of Crop entities associated with a specific farm.
+   * Retrieves all farms from the database, projected straight into DTOs.
+   *
+   * @return A List containing a FarmDto for each farm.
+   */
+  @Transactional(readOnly = true)
+  public List<FarmDto> getAllFarms() {
+    return farmRepository.findAllDtos();
+  }
+
+  /**
+   * Retrieves a page of farms using keyset pagination, projected straight into DTOs.
+   *
+   * @param after The id of the last farm of the previous page, or zero for the first page.
+   * @param limit The maximum number of farms to retrieve.
+   * @return A List containing at most limit FarmDto objects with an id greater than after.
+   */
+  @Transactional(readOnly = true)
+  public List<FarmDto> getFarmsAfter(long after, int limit) {
+    return farmRepository.findDtosAfter(after, PageRequest.ofSize(limit));
+  }
+
+  /**
+   * Retrieves the crops associated with a specific farm, projected straight into DTOs.
    *
    * @param farmId The unique identifier of the farm for which to retrieve crops.
-   * @return A List of Crop entities associated with the specified farm,
+   * @return A List of CropDto objects associated with the specified farm,
    *         or an empty List if no crops are found for the given farm.
    */
-  public List<Crop> getCropsByFarmId(Long farmId) {
-    return cropRepository.findByFarmId(farmId);
+  @Transactional(readOnly = true)
+  public List<CropDto> getCropsByFarmId(Long farmId) {
+    return cropRepository.findDtosByFarmId(farmId);
+  }
+
+  /**
+   * Summarizes the versions of the crops of a farm without loading them.
+   *
+   * @param farmId The unique identifier of the farm.
+   * @return An Optional containing the VersionStamp of the crops of the farm, or an empty
+   *         Optional if no farm with the specified ID is found.
+   */
+  @Transactional(readOnly = true)
+  public Optional<VersionStamp> getCropsVersionStamp(Long farmId) {
+    return cropRepository.findCropsVersionStamp(farmId);
+  }
+
+  /**
+   * Retrieves the aggregate statistics of the crops of a farm, computed by the database.
+   *
+   * @param farmId The unique identifier of the farm.
+   * @return An Optional containing the statistics of the farm,
+   *         or an empty Optional if no farm with the specified ID is found.
+   */
+  @Transactional(readOnly = true)
+  public Optional<FarmStatsDto> getFarmStats(Long farmId) {
+    return cropRepository.findFarmStats(farmId);
+  }
+
+  /**
+   * Retrieves the aggregate statistics of the crops of every farm, computed by the database.
+   *
+   * @return A List containing a FarmStatsDto for each farm, ordered by farm id.
+   */
+  @Transactional(readOnly = true)
+  public List<FarmStatsDto> getAllFarmStats() {
+    return cropRepository.findAllFarmStats();
   }
 }
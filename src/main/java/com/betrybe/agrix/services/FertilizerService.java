@@ -1,11 +1,15 @@
 package com.betrybe.agrix.services;
 
 import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.models.projections.FertilizerDto;
+import com.betrybe.agrix.models.projections.VersionStamp;
 import com.betrybe.agrix.models.repositories.FertilizerRepository;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service class for managing Fertilizer entities.
@@ -37,16 +41,40 @@ public class FertilizerService {
    * @return An Optional containing the retrieved Fertilizer entity,
    *         or an empty Optional if no fertilizer with the specified ID is found.
    */
+  @Transactional(readOnly = true)
   public Optional<Fertilizer> getFertilizerById(Long id) {
     return fertilizerRepository.findById(id);
   }
 
   /**
-   * Retrieves all Fertilizer entities from the database.
+   * Retrieves all fertilizers from the database, projected straight into DTOs.
    *
-   * @return A List containing all Fertilizer entities.
+   * @return A List containing a FertilizerDto for each fertilizer.
    */
-  public List<Fertilizer> getAllFertilizers() {
-    return fertilizerRepository.findAll();
+  @Transactional(readOnly = true)
+  public List<FertilizerDto> getAllFertilizers() {
+    return fertilizerRepository.findAllDtos();
+  }
+
+  /**
+   * Summarizes the versions of every fertilizer without loading them.
+   *
+   * @return The VersionStamp of the fertilizers.
+   */
+  @Transactional(readOnly = true)
+  public VersionStamp getFertilizersVersionStamp() {
+    return fertilizerRepository.findVersionStamp();
+  }
+
+  /**
+   * Retrieves a page of fertilizers using keyset pagination, projected straight into DTOs.
+   *
+   * @param after The id of the last fertilizer of the previous page, or zero for the first page.
+   * @param limit The maximum number of fertilizers to retrieve.
+   * @return A List containing at most limit FertilizerDto objects with an id greater than after.
+   */
+  @Transactional(readOnly = true)
+  public List<FertilizerDto> getFertilizersAfter(long after, int limit) {
+    return fertilizerRepository.findDtosAfter(after, PageRequest.ofSize(limit));
   }
 }
@@ -1,7 +1,9 @@
 package com.betrybe.agrix.services.exception;
 
 /**
- * Custom exception class for resource not found errors.
+ * Custom exception class for resource not found errors. Misses are an expected outcome rather
+ * than a failure, so the exception records no stack trace and no suppressed exceptions: throwing
+ * it costs about as much as returning a value.
  */
 public class NotFoundException extends Exception {
 
@@ -12,6 +14,6 @@ public class NotFoundException extends Exception {
    *                by the getMessage() method.
    */
   public NotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 }
@@ -0,0 +1,156 @@
+package com.betrybe.agrix.services.index;
+
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.repositories.CropRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory index of the period each crop spends in the ground, from its planted date to its
+ * harvest date. It is loaded from the database before the application starts serving requests
+ * and kept up to date as crops are inserted.
+ *
+ * <p>The index lives in the heap of the instance and only sees the inserts made through it, so it
+ * is only created when agrix.crop-index.single-instance is true; otherwise CropService queries
+ * the database. agrix.crop-index.refresh.cron rebuilds the index from the database on a
+ * schedule, for crops written to the database by other means.</p>
+ *
+ * <p>Crops without a planted date, or harvested before being planted, are not indexed. Crops
+ * without a harvest date are considered in the ground from their planted date onwards.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "agrix.crop-index.single-instance", havingValue = "true")
+public class CropIntervalIndex implements SmartInitializingSingleton {
+
+  private static final Logger log = LoggerFactory.getLogger(CropIntervalIndex.class);
+
+  private final CropRepository cropRepository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private IntervalTree<CropDto> tree = new IntervalTree<>();
+
+  /**
+   * The crops indexed while a rebuild loads the table, which the rebuilt tree may not hold yet;
+   * null when no rebuild is running.
+   */
+  private List<CropDto> addedDuringRebuild;
+
+  @Autowired
+  public CropIntervalIndex(CropRepository cropRepository) {
+    this.cropRepository = cropRepository;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    rebuild();
+  }
+
+  /**
+   * Rebuilds the index from the crops in the database, on the schedule of
+   * agrix.crop-index.refresh.cron, which is disabled by default. Queries keep reading the
+   * current index until the rebuilt one replaces it.
+   */
+  @Scheduled(cron = "${agrix.crop-index.refresh.cron:-}")
+  public synchronized void rebuild() {
+    lock.writeLock().lock();
+    try {
+      addedDuringRebuild = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    List<CropDto> crops = List.of();
+    IntervalTree<CropDto> rebuilt = null;
+    try {
+      crops = cropRepository.findAllDtos();
+      rebuilt = new IntervalTree<>();
+      for (CropDto crop : crops) {
+        put(rebuilt, crop);
+      }
+    } finally {
+      lock.writeLock().lock();
+      try {
+        if (rebuilt != null) {
+          for (CropDto crop : addedDuringRebuild) {
+            put(rebuilt, crop);
+          }
+          tree = rebuilt;
+        }
+        addedDuringRebuild = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+    log.info("Indexed {} of {} crops by planted/harvest period", rebuilt.size(), crops.size());
+  }
+
+  /**
+   * Adds a crop to the index. When called inside a transaction, the crop is only indexed after
+   * the transaction commits, so a rolled back insert never shows up in the queries.
+   *
+   * @param crop The crop to index.
+   */
+  public void add(CropDto crop) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          addNow(crop);
+        }
+      });
+    } else {
+      addNow(crop);
+    }
+  }
+
+  /**
+   * Retrieves the crops that are in the ground on at least one day of the given range, that is,
+   * planted on or before end and harvested on or after start.
+   *
+   * @param start The first day of the range.
+   * @param end   The last day of the range.
+   * @return A List of CropDto objects ordered by planted date and id.
+   */
+  public List<CropDto> findActive(LocalDate start, LocalDate end) {
+    lock.readLock().lock();
+    try {
+      return tree.overlapping(start, end);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void addNow(CropDto crop) {
+    lock.writeLock().lock();
+    try {
+      put(tree, crop);
+      if (addedDuringRebuild != null) {
+        addedDuringRebuild.add(crop);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static void put(IntervalTree<CropDto> tree, CropDto crop) {
+    LocalDate planted = crop.plantedDate();
+    LocalDate harvest = crop.harvestDate();
+
+    if (planted != null && (harvest == null || !harvest.isBefore(planted))) {
+      tree.put(crop.id(), planted, harvest, crop);
+    }
+  }
+}
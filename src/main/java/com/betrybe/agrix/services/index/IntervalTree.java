@@ -0,0 +1,173 @@
+package com.betrybe.agrix.services.index;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Augmented AVL tree of closed date intervals. Entries are ordered by start date (ties broken by
+ * id) and every node keeps the greatest end date of its subtree, so overlap queries skip every
+ * subtree that ends before the queried range or starts after it.
+ *
+ * <p>Insertion costs O(log n). A query descends O(log n) nodes to reach the matching entries and
+ * then walks only subtrees that hold at least one match. This class is not thread-safe.</p>
+ *
+ * @param <T> The type of the values stored with each interval.
+ */
+public class IntervalTree<T> {
+
+  /**
+   * End value of intervals that are still open.
+   */
+  private static final long OPEN_END = Long.MAX_VALUE;
+
+  private Node<T> root;
+
+  private int size;
+
+  /**
+   * Inserts an interval, or replaces the value of the interval with the same start date and id.
+   *
+   * @param id    The identifier of the interval, used to order intervals with the same start.
+   * @param start The first day of the interval.
+   * @param end   The last day of the interval, or null if the interval is still open.
+   * @param value The value to return for this interval.
+   * @throws IllegalArgumentException If end is before start.
+   */
+  public void put(long id, LocalDate start, LocalDate end, T value) {
+    long startDay = start.toEpochDay();
+    long endDay = end != null ? end.toEpochDay() : OPEN_END;
+
+    if (endDay < startDay) {
+      throw new IllegalArgumentException("Interval ends before it starts: " + start + " " + end);
+    }
+    root = insert(root, id, startDay, endDay, value);
+  }
+
+  /**
+   * Retrieves the values of all intervals that share at least one day with the given range.
+   *
+   * @param from The first day of the range.
+   * @param to   The last day of the range.
+   * @return A List with the overlapping values, ordered by start date and id.
+   */
+  public List<T> overlapping(LocalDate from, LocalDate to) {
+    List<T> result = new ArrayList<>();
+    collect(root, from.toEpochDay(), to.toEpochDay(), result);
+    return result;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private Node<T> insert(Node<T> node, long id, long start, long end, T value) {
+    if (node == null) {
+      size++;
+      return new Node<>(id, start, end, value);
+    }
+
+    int compare = start != node.start ? Long.compare(start, node.start) : Long.compare(id, node.id);
+    if (compare < 0) {
+      node.left = insert(node.left, id, start, end, value);
+    } else if (compare > 0) {
+      node.right = insert(node.right, id, start, end, value);
+    } else {
+      node.end = end;
+      node.value = value;
+    }
+    return rebalance(node);
+  }
+
+  private void collect(Node<T> node, long from, long to, List<T> result) {
+    if (node == null || node.maxEnd < from) {
+      return;
+    }
+
+    collect(node.left, from, to, result);
+    if (node.start > to) {
+      return;
+    }
+    if (node.end >= from) {
+      result.add(node.value);
+    }
+    collect(node.right, from, to, result);
+  }
+
+  private Node<T> rebalance(Node<T> node) {
+    update(node);
+    int balance = height(node.left) - height(node.right);
+
+    if (balance > 1) {
+      if (height(node.left.left) < height(node.left.right)) {
+        node.left = rotateLeft(node.left);
+      }
+      return rotateRight(node);
+    }
+    if (balance < -1) {
+      if (height(node.right.right) < height(node.right.left)) {
+        node.right = rotateRight(node.right);
+      }
+      return rotateLeft(node);
+    }
+    return node;
+  }
+
+  private Node<T> rotateLeft(Node<T> node) {
+    Node<T> pivot = node.right;
+    node.right = pivot.left;
+    pivot.left = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private Node<T> rotateRight(Node<T> node) {
+    Node<T> pivot = node.left;
+    node.left = pivot.right;
+    pivot.right = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private static void update(Node<?> node) {
+    node.height = 1 + Math.max(height(node.left), height(node.right));
+    node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+  }
+
+  private static int height(Node<?> node) {
+    return node != null ? node.height : 0;
+  }
+
+  private static long maxEnd(Node<?> node) {
+    return node != null ? node.maxEnd : Long.MIN_VALUE;
+  }
+
+  private static final class Node<T> {
+
+    private final long id;
+
+    private final long start;
+
+    private long end;
+
+    private long maxEnd;
+
+    private int height = 1;
+
+    private T value;
+
+    private Node<T> left;
+
+    private Node<T> right;
+
+    private Node(long id, long start, long end, T value) {
+      this.id = id;
+      this.start = start;
+      this.end = end;
+      this.maxEnd = end;
+      this.value = value;
+    }
+  }
+}
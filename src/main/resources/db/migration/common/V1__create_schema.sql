@@ -0,0 +1,62 @@
+-- Schema inicial do Agrix. Os indices sao criados antes das chaves estrangeiras para que o
+-- MySQL reaproveite os indices ja existentes em vez de criar indices implicitos duplicados.
+
+CREATE TABLE farm (
+  id BIGINT NOT NULL,
+  name VARCHAR(255),
+  size FLOAT(53),
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE crop (
+  id BIGINT NOT NULL,
+  name VARCHAR(255),
+  planted_area FLOAT(53),
+  planted_date DATE,
+  harvest_date DATE,
+  farm_id BIGINT,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE fertilizer (
+  id BIGINT NOT NULL,
+  name VARCHAR(255),
+  brand VARCHAR(255),
+  composition VARCHAR(255),
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE crop_fertilizer (
+  crop_id BIGINT NOT NULL,
+  fertilizer_id BIGINT NOT NULL,
+  PRIMARY KEY (crop_id, fertilizer_id)
+);
+
+CREATE TABLE person (
+  id BIGINT NOT NULL,
+  username VARCHAR(255),
+  password VARCHAR(255),
+  role TINYINT,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_person_username UNIQUE (username)
+);
+
+-- CropRepository.findByFarmId / GET /farms/{farmId}/crops
+CREATE INDEX idx_crop_farm_id ON crop (farm_id);
+
+-- CropRepository.findByHarvestDateBetween / GET /crops/search
+CREATE INDEX idx_crop_harvest_date ON crop (harvest_date);
+
+-- Leitura do lado do fertilizante; o lado da plantacao ja usa a chave primaria
+-- (crop_id, fertilizer_id)
+CREATE INDEX idx_crop_fertilizer_fertilizer_id ON crop_fertilizer (fertilizer_id, crop_id);
+
+ALTER TABLE crop
+  ADD CONSTRAINT fk_crop_farm FOREIGN KEY (farm_id) REFERENCES farm (id);
+
+ALTER TABLE crop_fertilizer
+  ADD CONSTRAINT fk_crop_fertilizer_crop FOREIGN KEY (crop_id) REFERENCES crop (id);
+
+ALTER TABLE crop_fertilizer
+  ADD CONSTRAINT fk_crop_fertilizer_fertilizer
+  FOREIGN KEY (fertilizer_id) REFERENCES fertilizer (id);
@@ -0,0 +1,21 @@
+-- Resumo desnormalizado das plantacoes de cada fazenda, mantido na mesma transacao que grava
+-- as plantacoes (FarmRollupService) e reparavel a partir da tabela crop.
+
+CREATE TABLE farm_rollup (
+  farm_id BIGINT NOT NULL,
+  crop_count BIGINT NOT NULL,
+  total_planted_area FLOAT(53) NOT NULL,
+  next_harvest_date DATE,
+  PRIMARY KEY (farm_id),
+  CONSTRAINT fk_farm_rollup_farm FOREIGN KEY (farm_id) REFERENCES farm (id)
+);
+
+INSERT INTO farm_rollup (farm_id, crop_count, total_planted_area, next_harvest_date)
+SELECT
+  f.id,
+  COUNT(c.id),
+  COALESCE(SUM(c.planted_area), 0),
+  MIN(CASE WHEN c.harvest_date >= CURRENT_DATE THEN c.harvest_date END)
+FROM farm f
+LEFT JOIN crop c ON c.farm_id = f.id
+GROUP BY f.id;
@@ -0,0 +1,6 @@
+-- Versao otimista (@Version) de farm, crop e fertilizer, incrementada pelo Hibernate a cada
+-- alteracao. Os ETags dos GETs condicionais sao calculados a partir dessas colunas.
+
+ALTER TABLE farm ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE crop ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE fertilizer ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
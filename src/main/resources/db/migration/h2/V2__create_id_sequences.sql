@@ -0,0 +1,16 @@
+-- Sequences usadas pelo pooled optimizer do Hibernate (allocationSize = 50)
+-- Cada valor lido da sequence e o topo de um bloco de 50 ids (valor - 49 ate valor), por isso
+-- a sequence comeca em MAX(id) + 50: o primeiro bloco vem logo acima dos ids ja existentes
+-- (ex.: em um schema criado pelo ddl-auto e adotado pelo baseline do Flyway)
+
+CREATE SEQUENCE farm_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE farm_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM farm);
+
+CREATE SEQUENCE crop_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE crop_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM crop);
+
+CREATE SEQUENCE fertilizer_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE fertilizer_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM fertilizer);
+
+CREATE SEQUENCE person_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE person_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM person);
@@ -0,0 +1,17 @@
+-- O MySQL nao tem sequences: o Hibernate as emula com uma tabela de uma linha por entidade,
+-- usada pelo pooled optimizer (allocationSize = 50)
+-- Cada valor lido de next_val e o topo de um bloco de 50 ids (valor - 49 ate valor), por isso
+-- a tabela comeca em MAX(id) + 50: o primeiro bloco vem logo acima dos ids ja existentes
+-- (ex.: em um schema criado pelo ddl-auto e adotado pelo baseline do Flyway)
+
+CREATE TABLE farm_seq (next_val BIGINT);
+INSERT INTO farm_seq SELECT COALESCE(MAX(id), 0) + 50 FROM farm;
+
+CREATE TABLE crop_seq (next_val BIGINT);
+INSERT INTO crop_seq SELECT COALESCE(MAX(id), 0) + 50 FROM crop;
+
+CREATE TABLE fertilizer_seq (next_val BIGINT);
+INSERT INTO fertilizer_seq SELECT COALESCE(MAX(id), 0) + 50 FROM fertilizer;
+
+CREATE TABLE person_seq (next_val BIGINT);
+INSERT INTO person_seq SELECT COALESCE(MAX(id), 0) + 50 FROM person;
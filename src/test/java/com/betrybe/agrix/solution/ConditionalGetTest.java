@@ -0,0 +1,134 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.monitoring.StatementCounter;
+import com.betrybe.agrix.services.CropService;
+import com.betrybe.agrix.testsupport.AgrixFixtures;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(AgrixFixtures.class)
+@DisplayName("Conditional GET with ETags derived from entity versions")
+@TestInstance(Lifecycle.PER_CLASS)
+public class ConditionalGetTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private AgrixFixtures fixtures;
+
+  @Autowired
+  private CropService cropService;
+
+  private Long farmId;
+
+  private Long cropId;
+
+  @BeforeAll
+  public void setupDatabase() {
+    farmId = fixtures.insertFarm("Fazenda Versionada");
+    cropId = fixtures.insertCrop(farmId, "Café");
+  }
+
+  @Test
+  @DisplayName("GET /farms/{id} should answer 304 while the farm is unchanged")
+  public void testFarm() throws Exception {
+    String etag = etagOf("/farms/" + farmId);
+
+    assertNotModified("/farms/" + farmId, etag, 1);
+
+    mockMvc.perform(get("/farms/0").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("GET /farms/{id}/crops should answer 304 until a crop is added to the farm")
+  public void testFarmCrops() throws Exception {
+    String url = "/farms/" + farmId + "/crops";
+    String etag = etagOf(url);
+
+    assertNotModified(url, etag, 1);
+
+    fixtures.insertCrop(farmId, "Cacau");
+    mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[?(@.name == 'Cacau')]").exists());
+    Assertions.assertNotEquals(etag, etagOf(url));
+  }
+
+  @Test
+  @DisplayName("GET /fertilizers should answer 304 until a fertilizer is created")
+  public void testFertilizers() throws Exception {
+    String etag = etagOf("/fertilizers");
+
+    assertNotModified("/fertilizers", etag, 1);
+
+    fixtures.insertFertilizer("Calcário");
+    mockMvc.perform(get("/fertilizers").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk());
+    Assertions.assertNotEquals(etag, etagOf("/fertilizers"));
+  }
+
+  @Test
+  @DisplayName("GET /crops/{id}/fertilizers should answer 304 until a fertilizer is associated")
+  public void testCropFertilizers() throws Exception {
+    String url = "/crops/" + cropId + "/fertilizers";
+    String etag = etagOf(url);
+
+    assertNotModified(url, etag, 1);
+
+    cropService.addFertilizerToCrop(cropId, fixtures.insertFertilizer("Húmus"));
+    List<String> etags = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[?(@.name == 'Húmus')]").exists())
+        .andReturn().getResponse().getHeaders(HttpHeaders.ETAG);
+
+    Assertions.assertEquals(1, etags.size());
+    String changed = etags.get(0);
+    Assertions.assertNotEquals(etag, changed);
+    Assertions.assertEquals(changed, etagOf(url));
+    assertNotModified(url, changed, 1);
+  }
+
+  private String etagOf(String url) throws Exception {
+    List<String> etags = mockMvc.perform(get(url))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeaders(HttpHeaders.ETAG);
+    Assertions.assertEquals(1, etags.size(), () -> url + " sent the ETags " + etags);
+    return etags.get(0);
+  }
+
+  private void assertNotModified(String url, String etag, long maximumStatements)
+      throws Exception {
+    try (StatementCounter.Scope scope = StatementCounter.open()) {
+      mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+          .andExpect(status().isNotModified())
+          .andExpect(header().string(HttpHeaders.ETAG, etag))
+          .andExpect(content().string(""));
+
+      Assertions.assertTrue(scope.count() <= maximumStatements,
+          "GET " + url + " issued " + scope.count() + " statements to answer 304");
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.services.FarmService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Crop export as newline-delimited JSON")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class CropExportTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private FarmService farmService;
+
+  @Test
+  @DisplayName("GET /crops/export should write one JSON object per line")
+  public void testExportCrops() throws Exception {
+    Farm farm = new Farm();
+    farm.setName("Fazenda Exportada");
+    farm.setSize(5.0);
+    Long farmId = farmService.insertFarm(farm).getId();
+    Set<Long> ids = new HashSet<>();
+    for (int i = 0; i < 3; i++) {
+      Crop crop = new Crop();
+      crop.setName("Plantação " + i);
+      crop.setPlantedDate(LocalDate.of(2023, 1, 1));
+      crop.setHarvestDate(LocalDate.of(2023, 6, 1));
+      ids.add(farmService.insertCrop(farmId, crop).orElseThrow().getId());
+    }
+
+    String body = export();
+
+    Assertions.assertTrue(body.endsWith("\n"), "The last record must end the line");
+    String[] lines = body.split("\n", -1);
+    Assertions.assertEquals(ids.size() + 1, lines.length);
+    Assertions.assertEquals("", lines[ids.size()]);
+    Set<Long> exported = new HashSet<>();
+    for (int i = 0; i < ids.size(); i++) {
+      JsonNode crop = objectMapper.readTree(lines[i]);
+      Assertions.assertTrue(crop.isObject());
+      Assertions.assertEquals(farmId, crop.get("farmId").asLong());
+      exported.add(crop.get("id").asLong());
+    }
+    Assertions.assertEquals(ids, exported);
+  }
+
+  @Test
+  @DisplayName("GET /crops/export should write an empty body for an empty table")
+  public void testExportNoCrops() throws Exception {
+    Assertions.assertEquals("", export());
+  }
+
+  private String export() throws Exception {
+    MvcResult started = mockMvc.perform(get("/crops/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    return mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn()
+        .getResponse()
+        .getContentAsString(StandardCharsets.UTF_8);
+  }
+}
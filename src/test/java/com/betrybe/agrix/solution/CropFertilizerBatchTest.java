@@ -0,0 +1,155 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.controllers.dto.CropFertilizerDto;
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.monitoring.StatementCounter;
+import com.betrybe.agrix.services.CropService;
+import com.betrybe.agrix.services.FarmService;
+import com.betrybe.agrix.services.FertilizerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Batch association of fertilizers with crops")
+@TestInstance(Lifecycle.PER_CLASS)
+public class CropFertilizerBatchTest {
+
+  private static final int CROPS = 4;
+
+  private static final int FERTILIZERS = 5;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private FarmService farmService;
+
+  @Autowired
+  private CropService cropService;
+
+  @Autowired
+  private FertilizerService fertilizerService;
+
+  private final List<Long> cropIds = new ArrayList<>();
+
+  private final List<Long> fertilizerIds = new ArrayList<>();
+
+  @BeforeAll
+  public void setupDatabase() {
+    Farm farm = new Farm();
+    farm.setName("Fazenda em Lote");
+    farm.setSize(20.0);
+    Long farmId = farmService.insertFarm(farm).getId();
+
+    for (int i = 0; i < CROPS; i++) {
+      Crop crop = new Crop();
+      crop.setName("Lote " + i);
+      crop.setPlantedDate(LocalDate.of(2023, 4, 1));
+      crop.setHarvestDate(LocalDate.of(2023, 10, 1));
+      cropIds.add(farmService.insertCrop(farmId, crop).orElseThrow().getId());
+    }
+    for (int i = 0; i < FERTILIZERS; i++) {
+      Fertilizer fertilizer = new Fertilizer();
+      fertilizer.setName("Adubo " + i);
+      fertilizerIds.add(fertilizerService.insertFertilizer(fertilizer).getId());
+    }
+  }
+
+  @Test
+  @DisplayName("Every pair should be associated once, with a fixed number of statements")
+  public void testAssociateAll() throws Exception {
+    List<CropFertilizerDto> associations = new ArrayList<>();
+    for (Long cropId : cropIds.subList(0, 2)) {
+      for (Long fertilizerId : fertilizerIds) {
+        associations.add(new CropFertilizerDto(cropId, fertilizerId));
+      }
+    }
+    cropService.addFertilizerToCrop(cropIds.get(0), fertilizerIds.get(0));
+    associations.add(associations.get(1));
+
+    try (StatementCounter.Scope scope = StatementCounter.open()) {
+      associate(associations)
+          .andExpect(status().isCreated())
+          .andExpect(content().string("Fertilizantes e plantações associados com sucesso!"));
+
+      Assertions.assertEquals(3, scope.count(),
+          "Two IN queries and one multi-row insert were expected for any number of pairs");
+    }
+    associate(associations).andExpect(status().isCreated());
+
+    for (Long cropId : cropIds.subList(0, 2)) {
+      mockMvc.perform(get("/crops/" + cropId + "/fertilizers"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.length()").value(FERTILIZERS));
+    }
+  }
+
+  @Test
+  @DisplayName("Nothing should be associated when a crop or a fertilizer does not exist")
+  public void testMissingIds() throws Exception {
+    Long cropId = cropIds.get(2);
+    Long fertilizerId = fertilizerIds.get(0);
+
+    String missingCrop = associate(List.of(
+        new CropFertilizerDto(cropId, fertilizerId),
+        new CropFertilizerDto(0L, fertilizerId)
+    )).andExpect(status().isNotFound()).andReturn().getResponse()
+        .getContentAsString(StandardCharsets.UTF_8);
+    Assertions.assertEquals("Plantação não encontrada!", missingCrop);
+
+    String missingFertilizer = associate(List.of(
+        new CropFertilizerDto(cropId, fertilizerId),
+        new CropFertilizerDto(cropId, null)
+    )).andExpect(status().isNotFound()).andReturn().getResponse()
+        .getContentAsString(StandardCharsets.UTF_8);
+    Assertions.assertEquals("Fertilizante não encontrado!", missingFertilizer);
+
+    mockMvc.perform(get("/crops/" + cropId + "/fertilizers"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(0));
+  }
+
+  @Test
+  @DisplayName("An empty batch should succeed without touching the database")
+  public void testEmptyBatch() throws Exception {
+    try (StatementCounter.Scope scope = StatementCounter.open()) {
+      associate(List.of()).andExpect(status().isCreated());
+      Assertions.assertEquals(0, scope.count());
+    }
+  }
+
+  private ResultActions associate(List<CropFertilizerDto> associations) throws Exception {
+    return mockMvc.perform(post("/crops/fertilizers")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(associations)));
+  }
+}
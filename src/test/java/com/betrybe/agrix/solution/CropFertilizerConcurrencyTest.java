@@ -0,0 +1,135 @@
+package com.betrybe.agrix.solution;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.monitoring.StatementCounter;
+import com.betrybe.agrix.services.CropService;
+import com.betrybe.agrix.services.FarmService;
+import com.betrybe.agrix.services.FertilizerService;
+import com.betrybe.agrix.services.exception.CropNotFoundException;
+import com.betrybe.agrix.services.exception.FertilizerNotFoundException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs on the H2 database of the test profile, whose MVCC engine locks only the rows it writes.
+ * It checks that concurrent calls neither fail nor lose associations, but does not cover the gap
+ * and next-key locks that InnoDB takes on MySQL, which need a MySQL server to reproduce.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@DisplayName("Concurrent association of fertilizers with a single crop")
+@TestInstance(Lifecycle.PER_CLASS)
+public class CropFertilizerConcurrencyTest {
+
+  private static final int THREADS = 8;
+
+  private static final int FERTILIZERS = 40;
+
+  /**
+   * Every fertilizer is linked by this many threads, so most calls collide with another one.
+   */
+  private static final int REPEATS = 3;
+
+  @Autowired
+  private FarmService farmService;
+
+  @Autowired
+  private CropService cropService;
+
+  @Autowired
+  private FertilizerService fertilizerService;
+
+  private Long cropId;
+
+  private final List<Long> fertilizerIds = new ArrayList<>();
+
+  @BeforeAll
+  public void setupDatabase() {
+    Farm farm = new Farm();
+    farm.setName("Fazenda Concorrida");
+    farm.setSize(30.0);
+    Long farmId = farmService.insertFarm(farm).getId();
+
+    Crop crop = new Crop();
+    crop.setName("Milho");
+    crop.setPlantedDate(LocalDate.of(2023, 5, 1));
+    crop.setHarvestDate(LocalDate.of(2023, 11, 1));
+    cropId = farmService.insertCrop(farmId, crop).orElseThrow().getId();
+
+    for (int i = 0; i < FERTILIZERS; i++) {
+      Fertilizer fertilizer = new Fertilizer();
+      fertilizer.setName("Composto " + i);
+      fertilizerIds.add(fertilizerService.insertFertilizer(fertilizer).getId());
+    }
+  }
+
+  @Test
+  @DisplayName("Concurrent calls on one crop should neither fail nor lose associations")
+  public void testHotCrop() throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Callable<Void>> calls = new ArrayList<>();
+    for (int repeat = 0; repeat < REPEATS; repeat++) {
+      for (Long fertilizerId : fertilizerIds) {
+        calls.add(() -> {
+          start.await();
+          cropService.addFertilizerToCrop(cropId, fertilizerId);
+          return null;
+        });
+      }
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (Callable<Void> call : calls) {
+        futures.add(executor.submit(call));
+      }
+      start.countDown();
+      for (Future<Void> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assertions.assertEquals(FERTILIZERS,
+        cropService.getCropWithFertilizersById(cropId).orElseThrow().getFertilizers().size());
+  }
+
+  @Test
+  @DisplayName("A single association should not load the crop or its fertilizers")
+  public void testStatements() throws Exception {
+    Long fertilizerId = fertilizerIds.get(0);
+    cropService.addFertilizerToCrop(cropId, fertilizerId);
+
+    try (StatementCounter.Scope scope = StatementCounter.open()) {
+      cropService.addFertilizerToCrop(cropId, fertilizerId);
+
+      Assertions.assertEquals(3, scope.count(),
+          "Two existence checks and the idempotent insert were expected");
+    }
+
+    Assertions.assertThrows(CropNotFoundException.class,
+        () -> cropService.addFertilizerToCrop(0L, fertilizerId));
+    Assertions.assertThrows(FertilizerNotFoundException.class,
+        () -> cropService.addFertilizerToCrop(cropId, 0L));
+  }
+}
@@ -0,0 +1,146 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.testsupport.AgrixFixtures;
+import jakarta.persistence.EntityManager;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(AgrixFixtures.class)
+@DisplayName("Crop/fertilizer links stored once in crop_fertilizer")
+public class CropFertilizerLinkTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private AgrixFixtures fixtures;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private JavaMigration legacyCropFertilizerLinksMigration;
+
+  @Test
+  @DisplayName("A repeated POST /crops/{id}/fertilizers/{id} should keep a single link")
+  public void testDuplicateLink() throws Exception {
+    Long cropId = fixtures.insertCrop(fixtures.insertFarm("Fazenda Associada"), "Soja");
+    Long fertilizerId = fixtures.insertFertilizer("Adubo");
+    String url = "/crops/" + cropId + "/fertilizers/" + fertilizerId;
+
+    mockMvc.perform(post(url)).andExpect(status().isCreated());
+    mockMvc.perform(post(url)).andExpect(status().isCreated());
+
+    Assertions.assertEquals(1, countLinks(cropId, fertilizerId));
+    mockMvc.perform(get("/crops/" + cropId + "/fertilizers"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].id").value(fertilizerId));
+  }
+
+  @Test
+  @DisplayName("Both sides of the association should read the links of crop_fertilizer")
+  public void testBothDirections() {
+    Long cropId = fixtures.insertCrop(fixtures.insertFarm("Fazenda Associada"), "Soja");
+    Long fertilizerId = fixtures.insertFertilizer("Adubo");
+    jdbcTemplate.update(
+        "insert into crop_fertilizer (crop_id, fertilizer_id) values (?, ?)", cropId, fertilizerId);
+
+    transactionTemplate.executeWithoutResult(status -> {
+      Crop crop = entityManager.find(Crop.class, cropId);
+      Fertilizer fertilizer = entityManager.find(Fertilizer.class, fertilizerId);
+      Assertions.assertEquals(Set.of(fertilizerId), crop.getFertilizers().stream()
+          .map(Fertilizer::getId)
+          .collect(Collectors.toSet()));
+      Assertions.assertEquals(Set.of(cropId), fertilizer.getCrops().stream()
+          .map(Crop::getId)
+          .collect(Collectors.toSet()));
+    });
+  }
+
+  @Test
+  @DisplayName("Migration V5 should move the links of the legacy crop_fertilizers table")
+  public void testLegacyLinksMigration() throws Exception {
+    Long cropId = fixtures.insertCrop(fixtures.insertFarm("Fazenda Associada"), "Soja");
+    Long linkedId = fixtures.insertFertilizer("Adubo");
+    Long legacyId = fixtures.insertFertilizer("Adubo");
+    jdbcTemplate.update(
+        "insert into crop_fertilizer (crop_id, fertilizer_id) values (?, ?)", cropId, linkedId);
+    jdbcTemplate.execute(
+        "create table crop_fertilizers (crop_id bigint not null, fertilizers_id bigint not null)");
+    for (Long fertilizerId : List.of(linkedId, legacyId, legacyId)) {
+      jdbcTemplate.update("insert into crop_fertilizers (crop_id, fertilizers_id) values (?, ?)",
+          cropId, fertilizerId);
+    }
+
+    migrate();
+
+    Assertions.assertEquals(1, countLinks(cropId, linkedId));
+    Assertions.assertEquals(1, countLinks(cropId, legacyId));
+    Assertions.assertEquals(0, jdbcTemplate.queryForObject(
+        "select count(*) from information_schema.tables where table_name = 'CROP_FERTILIZERS'",
+        Integer.class));
+
+    // Without the legacy table, as on databases created by the migrations, nothing changes
+    migrate();
+    Assertions.assertEquals(1, countLinks(cropId, legacyId));
+  }
+
+  private void migrate() throws Exception {
+    try (Connection connection = dataSource.getConnection()) {
+      legacyCropFertilizerLinksMigration.migrate(new Context() {
+        @Override
+        public Configuration getConfiguration() {
+          return null;
+        }
+
+        @Override
+        public Connection getConnection() {
+          return connection;
+        }
+      });
+    }
+  }
+
+  private int countLinks(Long cropId, Long fertilizerId) {
+    return jdbcTemplate.queryForObject(
+        "select count(*) from crop_fertilizer where crop_id = ? and fertilizer_id = ?",
+        Integer.class, cropId, fertilizerId);
+  }
+}
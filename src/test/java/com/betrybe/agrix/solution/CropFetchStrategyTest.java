@@ -0,0 +1,126 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.models.projections.FertilizerDto;
+import com.betrybe.agrix.monitoring.StatementCounter;
+import com.betrybe.agrix.services.CropService;
+import com.betrybe.agrix.services.FarmService;
+import com.betrybe.agrix.services.FertilizerService;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@DisplayName("SQL statements issued per endpoint")
+@TestInstance(Lifecycle.PER_CLASS)
+public class CropFetchStrategyTest {
+
+  private static final int CROPS = 3;
+
+  private static final int FERTILIZERS = 4;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private FarmService farmService;
+
+  @Autowired
+  private CropService cropService;
+
+  @Autowired
+  private FertilizerService fertilizerService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Long cropId;
+
+  @BeforeAll
+  public void setupDatabase() throws Exception {
+    Farm farm = new Farm();
+    farm.setName("Fazenda Lazy");
+    farm.setSize(10.0);
+    Long farmId = farmService.insertFarm(farm).getId();
+
+    for (int i = 0; i < FERTILIZERS; i++) {
+      Fertilizer fertilizer = new Fertilizer();
+      fertilizer.setName("Fertilizante " + i);
+      fertilizerService.insertFertilizer(fertilizer);
+    }
+
+    for (int i = 0; i < CROPS; i++) {
+      Crop crop = new Crop();
+      crop.setName("Plantação " + i);
+      crop.setPlantedDate(LocalDate.of(2023, 1, 1));
+      crop.setHarvestDate(LocalDate.of(2023, 6, 1));
+      cropId = farmService.insertCrop(farmId, crop).orElseThrow().getId();
+
+      for (FertilizerDto fertilizer : fertilizerService.getAllFertilizers()) {
+        cropService.addFertilizerToCrop(cropId, fertilizer.id());
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("GET /crops should not load the fertilizers of the crops")
+  public void testGetAllCrops() throws Exception {
+    assertStatements("/crops", 1, jsonPath("$.length()").value(CROPS));
+  }
+
+  @Test
+  @DisplayName("GET /fertilizers should not load the crops of the fertilizers")
+  public void testGetAllFertilizers() throws Exception {
+    // The version stamp of the ETag and the list itself, neither joining the crops
+    assertStatements("/fertilizers", 2, jsonPath("$.length()").value(FERTILIZERS));
+  }
+
+  @Test
+  @DisplayName("GET /crops/{id}/fertilizers should fetch the association in a single query")
+  public void testGetFertilizersByCropId() throws Exception {
+    assertStatements(
+        "/crops/" + cropId + "/fertilizers", 1, jsonPath("$.length()").value(FERTILIZERS)
+    );
+  }
+
+  @Test
+  @DisplayName("GET /crops/active should issue a single SQL statement")
+  public void testGetActiveCrops() throws Exception {
+    assertStatements("/crops/active?start=2023-03-01", 1, jsonPath("$.length()").value(CROPS));
+    assertStatements(
+        "/crops/active?start=2023-06-02&end=2023-12-31", 1, jsonPath("$.length()").value(0)
+    );
+  }
+
+  private void assertStatements(String url, long expected, ResultMatcher body) throws Exception {
+    // Counted with cold second-level and query caches, so the order of the tests does not matter
+    entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    long executed;
+    try (StatementCounter.Scope scope = StatementCounter.open()) {
+      mockMvc.perform(get(url)).andExpect(status().isOk()).andExpect(body);
+      executed = scope.count();
+    }
+
+    Assertions.assertEquals(expected, executed, "SQL statements issued by GET " + url);
+  }
+}
@@ -0,0 +1,142 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.repositories.CropRepository;
+import com.betrybe.agrix.monitoring.StatementCounter;
+import com.betrybe.agrix.services.FarmService;
+import com.betrybe.agrix.services.index.CropIntervalIndex;
+import com.betrybe.agrix.testsupport.AgrixFixtures;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "agrix.crop-index.single-instance=true")
+@AutoConfigureMockMvc
+@Import(AgrixFixtures.class)
+@DisplayName("Crops in the ground answered by the in-memory index")
+public class CropIntervalIndexTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private AgrixFixtures fixtures;
+
+  @Autowired
+  private FarmService farmService;
+
+  @Autowired
+  private CropRepository cropRepository;
+
+  @Autowired
+  private CropIntervalIndex cropIntervalIndex;
+
+  @Test
+  @DisplayName("GET /crops/active should reject a period that ends before it starts")
+  public void testEndBeforeStart() throws Exception {
+    mockMvc.perform(get("/crops/active?start=2023-06-01&end=2023-05-31"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/crops/active?start=2023-06-01&end=2023-06-01"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("GET /crops/active should be answered without SQL statements")
+  public void testNoStatements() throws Exception {
+    try (StatementCounter.Scope scope = StatementCounter.open()) {
+      mockMvc.perform(get("/crops/active?start=2023-03-01"))
+          .andExpect(status().isOk());
+      Assertions.assertEquals(0, scope.count());
+    }
+  }
+
+  @Test
+  @DisplayName("A rebuild should index the crops inserted without going through the index")
+  public void testRebuild() throws Exception {
+    Long cropId = saveBehindTheIndex(fixtures, farmService, cropRepository);
+    String url = "/crops/active?start=1901-06-01";
+
+    mockMvc.perform(get(url))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(0));
+
+    cropIntervalIndex.rebuild();
+
+    mockMvc.perform(get(url))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].id").value(cropId));
+  }
+
+  @Nested
+  @ActiveProfiles("test")
+  @SpringBootTest(properties = "agrix.crop-index.single-instance=false")
+  @AutoConfigureMockMvc
+  @Import(AgrixFixtures.class)
+  @DisplayName("Without agrix.crop-index.single-instance")
+  public class DatabaseFallbackTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AgrixFixtures fixtures;
+
+    @Autowired
+    private FarmService farmService;
+
+    @Autowired
+    private CropRepository cropRepository;
+
+    @Autowired
+    private ObjectProvider<CropIntervalIndex> cropIntervalIndex;
+
+    @Test
+    @DisplayName("GET /crops/active should see the crops inserted by another instance at once")
+    public void testCropsOfOtherInstances() throws Exception {
+      Assertions.assertNull(cropIntervalIndex.getIfAvailable());
+      Long cropId = saveBehindTheIndex(fixtures, farmService, cropRepository);
+
+      mockMvc.perform(get("/crops/active?start=1901-06-01&end=1901-12-31"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.length()").value(1))
+          .andExpect(jsonPath("$[0].id").value(cropId));
+      mockMvc.perform(get("/crops/active?start=1901-09-02"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.length()").value(0));
+    }
+  }
+
+  /**
+   * Saves a crop by the repository alone, like an insert made by another instance.
+   */
+  private static Long saveBehindTheIndex(
+      AgrixFixtures fixtures,
+      FarmService farmService,
+      CropRepository cropRepository
+  ) {
+    Farm farm = farmService.getFarmById(fixtures.insertFarm("Fazenda de Outra Instância"))
+        .orElseThrow();
+    Crop crop = new Crop();
+    crop.setName("Cevada");
+    crop.setPlantedDate(LocalDate.of(1901, 3, 1));
+    crop.setHarvestDate(LocalDate.of(1901, 9, 1));
+    crop.setFarm(farm);
+    return cropRepository.save(crop).getId();
+  }
+}
@@ -0,0 +1,141 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.controllers.KeysetPagination;
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.services.CropService;
+import com.betrybe.agrix.testsupport.AgrixFixtures;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(AgrixFixtures.class)
+@DisplayName("Crop search with optional filters")
+@TestInstance(Lifecycle.PER_CLASS)
+public class CropSearchFilterTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private AgrixFixtures fixtures;
+
+  @Autowired
+  private CropService cropService;
+
+  private Long farmId;
+
+  private Long otherFarmId;
+
+  private Long fertilizerId;
+
+  @BeforeAll
+  public void setupDatabase() throws Exception {
+    farmId = fixtures.insertFarm("Fazenda Norte");
+    otherFarmId = fixtures.insertFarm("Fazenda Sul");
+    fertilizerId = fixtures.insertFertilizer("Composto Orgânico");
+
+    Long soy = fixtures.insertCrop(farmId, "Soja", 10.0,
+        LocalDate.of(2023, 1, 10), LocalDate.of(2023, 5, 1));
+    fixtures.insertCrop(farmId, "Sorgo", 20.0,
+        LocalDate.of(2023, 2, 10), LocalDate.of(2023, 7, 1));
+    fixtures.insertCrop(farmId, "Milho", 30.0, LocalDate.of(2023, 3, 10), null);
+    Long soyOther = fixtures.insertCrop(otherFarmId, "Soja", 40.0,
+        LocalDate.of(2023, 4, 10), LocalDate.of(2023, 9, 1));
+    fixtures.insertCrop(otherFarmId, "So_ja", 50.0,
+        LocalDate.of(2023, 5, 10), LocalDate.of(2023, 8, 1));
+
+    cropService.addFertilizerToCrop(soy, fertilizerId);
+    cropService.addFertilizerToCrop(soyOther, fertilizerId);
+  }
+
+  @Test
+  @DisplayName("Should combine every informed filter")
+  public void testCombinedFilters() throws Exception {
+    Assertions.assertEquals(List.of("Sorgo", "Soja", "So_ja"), search(get("/crops/search")
+        .param("farmId", farmId.toString(), otherFarmId.toString())
+        .param("name", "So")
+        .param("minArea", "15")
+        .param("start", "2023-06-01")));
+
+    Assertions.assertEquals(List.of("So_ja"), search(get("/crops/search").param("name", "So_")));
+
+    Assertions.assertEquals(List.of("Soja"), search(get("/crops/search")
+        .param("fertilizerId", fertilizerId.toString())
+        .param("plantedTo", "2023-03-31")));
+  }
+
+  @Test
+  @DisplayName("Should page through a sorted search with the X-Next-Cursor header")
+  public void testSortedPagination() throws Exception {
+    List<String> names = new ArrayList<>();
+    MockHttpServletRequestBuilder request = get("/crops/search")
+        .param("farmId", farmId.toString(), otherFarmId.toString())
+        .param("sort", "HARVEST_DATE")
+        .param("direction", "DESC")
+        .param("limit", "2");
+    int pages = 0;
+
+    while (request != null) {
+      MockHttpServletResponse response = mockMvc.perform(request)
+          .andExpect(status().isOk())
+          .andReturn().getResponse();
+      names.addAll(names(response));
+      pages++;
+
+      String cursor = response.getHeader(KeysetPagination.NEXT_CURSOR_HEADER);
+      request = cursor != null
+          ? get("/crops/search")
+              .param("farmId", farmId.toString(), otherFarmId.toString())
+              .param("after", cursor)
+              .param("limit", "2")
+          : null;
+    }
+
+    Assertions.assertEquals(List.of("Soja", "So_ja", "Sorgo", "Soja", "Milho"), names);
+    Assertions.assertEquals(3, pages);
+  }
+
+  @Test
+  @DisplayName("Should reject a malformed cursor with 400")
+  public void testMalformedCursor() throws Exception {
+    mockMvc.perform(get("/crops/search").param("after", "not-a-cursor"))
+        .andExpect(status().isBadRequest())
+        .andExpect(header().doesNotExist(KeysetPagination.NEXT_CURSOR_HEADER));
+  }
+
+  private List<String> search(MockHttpServletRequestBuilder request) throws Exception {
+    return names(mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse());
+  }
+
+  private List<String> names(MockHttpServletResponse response) throws Exception {
+    List<CropDto> crops = objectMapper.readValue(response.getContentAsString(),
+        new TypeReference<>() {});
+    return crops.stream().map(CropDto::name).toList();
+  }
+}
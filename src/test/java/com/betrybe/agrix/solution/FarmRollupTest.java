@@ -0,0 +1,141 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.models.entities.FarmRollup;
+import com.betrybe.agrix.models.projections.FarmRollupDto;
+import com.betrybe.agrix.models.repositories.FarmRollupRepository;
+import com.betrybe.agrix.services.FarmRollupService;
+import com.betrybe.agrix.testsupport.AgrixFixtures;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=rollups")
+@AutoConfigureMockMvc
+@Import(AgrixFixtures.class)
+@DisplayName("Per-farm rollups")
+public class FarmRollupTest {
+
+  private static final LocalDate TODAY = LocalDate.now();
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private AgrixFixtures fixtures;
+
+  @Autowired
+  private FarmRollupService farmRollupService;
+
+  @Autowired
+  private FarmRollupRepository farmRollupRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Test
+  @DisplayName("GET /farms/{farmId}/summary should reflect the inserted crops")
+  public void testSummaryFollowsInserts() throws Exception {
+    Long farmId = fixtures.insertFarm("Fazenda Resumo");
+    fixtures.insertCrop(farmId, "Plantação", 10.0, null, TODAY.minusDays(5));
+    fixtures.insertCrop(farmId, "Plantação", 20.0, null, TODAY.plusDays(30));
+    fixtures.insertCrop(farmId, "Plantação", 5.0, null, TODAY.plusDays(10));
+    fixtures.insertCrop(farmId, "Plantação", null, null, null);
+
+    mockMvc.perform(get("/farms/" + farmId + "/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.cropCount").value(4))
+        .andExpect(jsonPath("$.totalPlantedArea").value(35.0))
+        .andExpect(jsonPath("$.nextHarvestDate").value(TODAY.plusDays(10).toString()));
+
+    mockMvc.perform(get("/farms/999999/summary")).andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("Concurrent crop inserts should never lose a rollup update")
+  public void testConcurrentInserts() {
+    Long farmId = fixtures.insertFarm("Fazenda Resumo");
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      CompletableFuture.allOf(IntStream.range(0, 100)
+          .mapToObj(i -> CompletableFuture.runAsync(() -> fixtures.insertCrop(
+              farmId, "Plantação", 1.5, null, TODAY.plusDays(i)), executor))
+          .toArray(CompletableFuture[]::new)).join();
+    } finally {
+      executor.shutdown();
+    }
+
+    Assertions.assertEquals(new FarmRollupDto(farmId, 100L, 150.0, TODAY),
+        farmRollupService.getFarmRollup(farmId).orElseThrow());
+  }
+
+  @Test
+  @DisplayName("POST /actuator/rollups should fix and report drifted rollups")
+  public void testRepairDrift() throws Exception {
+    Long farmId = fixtures.insertFarm("Fazenda Resumo");
+    fixtures.insertCrop(farmId, "Plantação", 12.0, null, TODAY.plusDays(3));
+    farmRollupRepository.save(new FarmRollup(farmId, 99, 1.0, null));
+
+    mockMvc.perform(post("/farms/rollups/repair")).andExpect(status().is4xxClientError());
+    mockMvc.perform(post("/actuator/rollups"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.driftedFarmIds", Matchers.contains(farmId.intValue())));
+
+    Assertions.assertEquals(new FarmRollupDto(farmId, 1L, 12.0, TODAY.plusDays(3)),
+        farmRollupService.getFarmRollup(farmId).orElseThrow());
+    Assertions.assertTrue(farmRollupService.repairRollups().driftedFarmIds().isEmpty());
+  }
+
+  @Test
+  @DisplayName("Refreshing a passed next harvest date should keep concurrent counter updates")
+  public void testRefreshKeepsCounters() throws Exception {
+    Long farmId = fixtures.insertFarm("Fazenda Resumo");
+    fixtures.insertCrop(farmId, "Plantação", 2.0, null, TODAY.plusDays(7));
+    farmRollupRepository.save(new FarmRollup(farmId, 1, 2.0, TODAY.minusDays(1)));
+
+    CompletableFuture<Void> concurrentInsert = new CompletableFuture<>();
+    FarmRollupDto read = transactionTemplate.execute(status -> {
+      FarmRollupDto rollup = farmRollupService.getFarmRollup(farmId).orElseThrow();
+      // A crop inserted by another transaction after the rollup was read, before this one ends
+      CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+          other -> farmRollupRepository.addCrop(farmId, 3.0)))
+          .whenComplete((result, error) -> concurrentInsert.complete(null));
+      sleep(200);
+      return rollup;
+    });
+    concurrentInsert.get(10, TimeUnit.SECONDS);
+
+    Assertions.assertEquals(new FarmRollupDto(farmId, 1L, 2.0, TODAY.plusDays(7)), read);
+    FarmRollup stored = farmRollupRepository.findById(farmId).orElseThrow();
+    Assertions.assertEquals(2, stored.getCropCount());
+    Assertions.assertEquals(5.0, stored.getTotalPlantedArea());
+    Assertions.assertEquals(TODAY.plusDays(7), stored.getNextHarvestDate());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
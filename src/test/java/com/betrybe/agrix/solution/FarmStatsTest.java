@@ -0,0 +1,102 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.models.projections.FarmStatsDto;
+import com.betrybe.agrix.services.FarmService;
+import com.betrybe.agrix.testsupport.AgrixFixtures;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(AgrixFixtures.class)
+@DisplayName("Aggregate statistics per farm")
+@TestInstance(Lifecycle.PER_CLASS)
+public class FarmStatsTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private FarmService farmService;
+
+  @Autowired
+  private AgrixFixtures fixtures;
+
+  private Long farmId;
+
+  private Long emptyFarmId;
+
+  @BeforeAll
+  public void setupDatabase() {
+    farmId = fixtures.insertFarm("Fazenda Cheia", 100.0);
+    emptyFarmId = fixtures.insertFarm("Fazenda Vazia", 50.0);
+
+    fixtures.insertCrop(farmId, "Soja", 10.0, null, LocalDate.of(2023, 5, 1));
+    fixtures.insertCrop(farmId, "Milho", 30.0, null, LocalDate.of(2023, 9, 1));
+    fixtures.insertCrop(farmId, "Trigo", null, null, null);
+  }
+
+  @Test
+  @DisplayName("GET /farms/{farmId}/stats should aggregate the crops of the farm")
+  public void testFarmStats() throws Exception {
+    mockMvc.perform(get("/farms/" + farmId + "/stats"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.farmName").value("Fazenda Cheia"))
+        .andExpect(jsonPath("$.cropCount").value(3))
+        .andExpect(jsonPath("$.totalPlantedArea").value(40.0))
+        .andExpect(jsonPath("$.averagePlantedArea").value(20.0))
+        .andExpect(jsonPath("$.usedShare").value(0.4))
+        .andExpect(jsonPath("$.earliestHarvest").value("2023-05-01"))
+        .andExpect(jsonPath("$.latestHarvest").value("2023-09-01"));
+  }
+
+  @Test
+  @DisplayName("GET /farms/stats should include farms without crops")
+  public void testAllFarmStats() throws Exception {
+    String body = mockMvc.perform(get("/farms/stats"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    List<FarmStatsDto> stats = objectMapper.readValue(body, new TypeReference<>() {});
+
+    Assertions.assertEquals(farmService.getAllFarms().size(), stats.size());
+    FarmStatsDto empty = stats.stream()
+        .filter(farm -> farm.farmId().equals(emptyFarmId))
+        .findFirst()
+        .orElseThrow();
+    Assertions.assertEquals(
+        new FarmStatsDto(emptyFarmId, "Fazenda Vazia", 50.0, 0L, 0.0, null, null, null),
+        empty
+    );
+  }
+
+  @Test
+  @DisplayName("GET /farms/{farmId}/stats should answer 404 for an unknown farm")
+  public void testUnknownFarm() throws Exception {
+    mockMvc.perform(get("/farms/999999/stats"))
+        .andExpect(status().isNotFound())
+        .andExpect(content().string("Fazenda não encontrada!"));
+  }
+}
@@ -0,0 +1,72 @@
+package com.betrybe.agrix.solution;
+
+import com.betrybe.agrix.services.index.IntervalTree;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Tests for IntervalTree")
+public class IntervalTreeTest {
+
+  private static final LocalDate EPOCH = LocalDate.of(2020, 1, 1);
+
+  private record Interval(long id, LocalDate start, LocalDate end) {
+
+    boolean overlaps(LocalDate from, LocalDate to) {
+      return !start.isAfter(to) && (end == null || !end.isBefore(from));
+    }
+  }
+
+  @Test
+  @DisplayName("Should return the same intervals as a linear scan, ordered by start")
+  public void testMatchesLinearScan() {
+    Random random = new Random(42);
+    IntervalTree<Interval> tree = new IntervalTree<>();
+    List<Interval> intervals = new ArrayList<>();
+
+    for (long id = 1; id <= 2000; id++) {
+      LocalDate start = EPOCH.plusDays(random.nextInt(1000));
+      LocalDate end = random.nextInt(20) == 0 ? null : start.plusDays(random.nextInt(120));
+      Interval interval = new Interval(id, start, end);
+      intervals.add(interval);
+      tree.put(id, start, end, interval);
+    }
+    intervals.sort((a, b) -> a.start().equals(b.start())
+        ? Long.compare(a.id(), b.id()) : a.start().compareTo(b.start()));
+
+    for (int i = 0; i < 500; i++) {
+      LocalDate from = EPOCH.plusDays(random.nextInt(1200) - 100);
+      LocalDate to = from.plusDays(random.nextInt(3) == 0 ? 0 : random.nextInt(60));
+
+      List<Interval> expected = intervals.stream().filter(it -> it.overlaps(from, to)).toList();
+      Assertions.assertEquals(expected, tree.overlapping(from, to), "range " + from + " " + to);
+    }
+    Assertions.assertEquals(2000, tree.size());
+  }
+
+  @Test
+  @DisplayName("Should replace the value of an interval inserted twice")
+  public void testReplacesDuplicate() {
+    IntervalTree<String> tree = new IntervalTree<>();
+    tree.put(1, EPOCH, EPOCH.plusDays(10), "first");
+    tree.put(1, EPOCH, EPOCH.plusDays(5), "second");
+
+    Assertions.assertEquals(1, tree.size());
+    Assertions.assertEquals(List.of("second"),
+        tree.overlapping(EPOCH.plusDays(5), EPOCH.plusDays(5)));
+    Assertions.assertEquals(List.of(), tree.overlapping(EPOCH.plusDays(6), EPOCH.plusDays(9)));
+  }
+
+  @Test
+  @DisplayName("Should reject intervals that end before they start")
+  public void testRejectsInvertedInterval() {
+    IntervalTree<String> tree = new IntervalTree<>();
+
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> tree.put(1, EPOCH, EPOCH.minusDays(1), "inverted"));
+  }
+}
@@ -0,0 +1,128 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.controllers.KeysetPagination;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.models.repositories.FertilizerRepository;
+import com.betrybe.agrix.testsupport.AgrixFixtures;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.hamcrest.Matcher;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * The contexts of these tests may hold rows inserted by other tests, so every page is read from
+ * a cursor placed right before the rows each test inserts.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(AgrixFixtures.class)
+@DisplayName("Keyset pagination of the list routes")
+public class KeysetPaginationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private AgrixFixtures fixtures;
+
+  @Autowired
+  private FertilizerRepository fertilizerRepository;
+
+  @Test
+  @DisplayName("GET /crops should page by id and omit the cursor on the last page")
+  public void testCropPages() throws Exception {
+    Long farmId = fixtures.insertFarm("Fazenda Paginada");
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      ids.add(fixtures.insertCrop(farmId, "Plantação " + i));
+    }
+    long before = ids.get(0) - 1;
+
+    page("/crops", before, 2)
+        .andExpect(jsonPath("$[*].id", idsOf(ids.subList(0, 2))))
+        .andExpect(header().string(KeysetPagination.NEXT_CURSOR_HEADER, ids.get(1).toString()));
+    page("/crops", ids.get(1), 2)
+        .andExpect(jsonPath("$[*].id", idsOf(ids.subList(2, 4))))
+        .andExpect(header().string(KeysetPagination.NEXT_CURSOR_HEADER, ids.get(3).toString()));
+    page("/crops", ids.get(3), 2)
+        .andExpect(jsonPath("$[*].id", idsOf(ids.subList(4, 5))))
+        .andExpect(header().doesNotExist(KeysetPagination.NEXT_CURSOR_HEADER));
+  }
+
+  @Test
+  @DisplayName("GET /farms should answer an empty page, without cursor, past the end")
+  public void testFarmPages() throws Exception {
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      ids.add(fixtures.insertFarm("Fazenda " + i));
+    }
+
+    page("/farms", ids.get(0) - 1, 2)
+        .andExpect(jsonPath("$[*].id", idsOf(ids.subList(0, 2))))
+        .andExpect(header().string(KeysetPagination.NEXT_CURSOR_HEADER, ids.get(1).toString()));
+    page("/farms", ids.get(1), 2)
+        .andExpect(jsonPath("$[*].id", idsOf(ids.subList(2, 4))))
+        .andExpect(header().string(KeysetPagination.NEXT_CURSOR_HEADER, ids.get(3).toString()));
+    page("/farms", ids.get(3), 2)
+        .andExpect(jsonPath("$.length()").value(0))
+        .andExpect(header().doesNotExist(KeysetPagination.NEXT_CURSOR_HEADER));
+  }
+
+  @Test
+  @DisplayName("GET /fertilizers should clamp the limit to 1..500")
+  public void testFertilizerLimitClamping() throws Exception {
+    List<Fertilizer> fertilizers = IntStream.range(0, KeysetPagination.MAX_LIMIT + 1)
+        .mapToObj(i -> {
+          Fertilizer fertilizer = new Fertilizer();
+          fertilizer.setName("Adubo " + i);
+          return fertilizer;
+        })
+        .toList();
+    List<Long> ids = fertilizerRepository.saveAll(fertilizers).stream()
+        .map(Fertilizer::getId)
+        .sorted()
+        .toList();
+    long before = ids.get(0) - 1;
+
+    page("/fertilizers", before, 0)
+        .andExpect(jsonPath("$[*].id", idsOf(ids.subList(0, 1))))
+        .andExpect(header().string(KeysetPagination.NEXT_CURSOR_HEADER, ids.get(0).toString()));
+    page("/fertilizers", before, -10)
+        .andExpect(jsonPath("$.length()").value(1));
+
+    Long last = ids.get(KeysetPagination.MAX_LIMIT - 1);
+    page("/fertilizers", before, 10_000)
+        .andExpect(jsonPath("$.length()").value(KeysetPagination.MAX_LIMIT))
+        .andExpect(header().string(KeysetPagination.NEXT_CURSOR_HEADER, last.toString()));
+    page("/fertilizers", last, 10_000)
+        .andExpect(jsonPath("$[*].id", idsOf(ids.subList(KeysetPagination.MAX_LIMIT, ids.size()))))
+        .andExpect(header().doesNotExist(KeysetPagination.NEXT_CURSOR_HEADER));
+  }
+
+  private ResultActions page(String url, long after, int limit) throws Exception {
+    return mockMvc.perform(get(url)
+            .param("after", Long.toString(after))
+            .param("limit", Integer.toString(limit)))
+        .andExpect(status().isOk());
+  }
+
+  private static Matcher<Iterable<? extends Object>> idsOf(List<Long> ids) {
+    return Matchers.contains(ids.stream().map(Long::intValue).toArray());
+  }
+}
@@ -0,0 +1,194 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.ebytr.staff.entity.Person;
+import com.betrybe.agrix.ebytr.staff.security.Role;
+import com.betrybe.agrix.ebytr.staff.service.PersonService;
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.services.FarmService;
+import com.betrybe.agrix.services.FertilizerService;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Starts the application on a populated schema shaped as ddl-auto=update created it, before the
+ * Flyway migrations, and checks that Flyway adopts it through the baseline.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:" + LegacySchemaMigrationTest.DATABASE
+        + ";DB_CLOSE_DELAY=-1",
+    "agrix.flyway.clean-before-migrate=false",
+    "agrix.reactive.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Migration of a schema created by ddl-auto")
+public class LegacySchemaMigrationTest {
+
+  static final String DATABASE = "agrix-legacy";
+
+  private static final long LEGACY_FARM_ID = 7;
+  private static final long LEGACY_CROP_ID = 130;
+  private static final long LEGACY_FERTILIZER_ID = 60;
+  private static final long CROP_SIDE_FERTILIZER_ID = 61;
+  private static final long LEGACY_PERSON_ID = 3;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private FarmService farmService;
+
+  @Autowired
+  private FertilizerService fertilizerService;
+
+  @Autowired
+  private PersonService personService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  /**
+   * Creates the legacy schema before the application context, and so Flyway, starts.
+   */
+  @BeforeAll
+  public static void createLegacySchema() throws Exception {
+    try (Connection connection = DriverManager.getConnection(
+        "jdbc:h2:mem:" + DATABASE + ";DB_CLOSE_DELAY=-1", "sa", "");
+        Statement statement = connection.createStatement()) {
+      statement.execute("create table farm (id bigint generated by default as identity, "
+          + "name varchar(255), size float(53), primary key (id))");
+      statement.execute("create table crop (id bigint generated by default as identity, "
+          + "farm_id bigint, harvest_date date, name varchar(255), planted_area float(53), "
+          + "planted_date date, primary key (id))");
+      statement.execute("create table fertilizer (id bigint generated by default as identity, "
+          + "brand varchar(255), composition varchar(255), name varchar(255), "
+          + "primary key (id))");
+      statement.execute(
+          "create table crop_fertilizer (fertilizer_id bigint not null, crop_id bigint not null)");
+      statement.execute(
+          "create table crop_fertilizers (crop_id bigint not null, fertilizers_id bigint not null)");
+      statement.execute("create table person (id bigint generated by default as identity, "
+          + "password varchar(255), role tinyint check (role between 0 and 2), "
+          + "username varchar(255), primary key (id), "
+          + "constraint UK_n0i6d7rc1hqkjivk494g8j2qd unique (username))");
+      statement.execute("alter table crop add constraint FKd6mw6wbl7p7v8dxk0l4ge6bcn "
+          + "foreign key (farm_id) references farm");
+      statement.execute("alter table crop_fertilizer add constraint FKdf0gvp0pl27umyf2u4o0gl2dd "
+          + "foreign key (crop_id) references crop");
+      statement.execute("alter table crop_fertilizer add constraint FK8ofj4v0bvg0d8s3yb1iv2ph0l "
+          + "foreign key (fertilizer_id) references fertilizer");
+      statement.execute("alter table crop_fertilizers add constraint FKq6r5ok8l4s4x0n8x1m0dvd3vp "
+          + "foreign key (fertilizers_id) references fertilizer");
+      statement.execute("alter table crop_fertilizers add constraint FKb2y0pnw5urm8vmbbw7y3uqp4l "
+          + "foreign key (crop_id) references crop");
+
+      statement.execute("insert into farm (id, name, size) values (" + LEGACY_FARM_ID
+          + ", 'Fazenda Antiga', 10.0)");
+      statement.execute("insert into crop (id, farm_id, name, planted_area, planted_date, "
+          + "harvest_date) values (" + LEGACY_CROP_ID + ", " + LEGACY_FARM_ID
+          + ", 'Milho', 4.0, date '2023-01-01', date '2023-06-01')");
+      statement.execute("insert into fertilizer (id, name, brand, composition) values ("
+          + LEGACY_FERTILIZER_ID + ", 'Adubo', 'Marca', 'NPK'), ("
+          + CROP_SIDE_FERTILIZER_ID + ", 'Calcario', 'Marca', 'CaCO3')");
+      // Mapped as a list without a primary key, the same link could be stored twice
+      for (int i = 0; i < 2; i++) {
+        statement.execute("insert into crop_fertilizer (crop_id, fertilizer_id) values ("
+            + LEGACY_CROP_ID + ", " + LEGACY_FERTILIZER_ID + ")");
+      }
+      // Links added from the crop side were stored in Hibernate's default join table
+      for (long fertilizerId : new long[] {LEGACY_FERTILIZER_ID, CROP_SIDE_FERTILIZER_ID}) {
+        statement.execute("insert into crop_fertilizers (crop_id, fertilizers_id) values ("
+            + LEGACY_CROP_ID + ", " + fertilizerId + ")");
+      }
+      statement.execute("insert into person (id, username, password, role) values ("
+          + LEGACY_PERSON_ID + ", 'legado', 'senha', 0)");
+    }
+  }
+
+  @Test
+  @DisplayName("Flyway should baseline the legacy schema at version 1 and apply the rest")
+  public void testBaseline() {
+    Assertions.assertEquals("BASELINE", jdbcTemplate.queryForObject(
+        "select \"type\" from \"flyway_schema_history\" where \"version\" = '1'", String.class));
+    Assertions.assertEquals(0, jdbcTemplate.queryForObject(
+        "select count(*) from \"flyway_schema_history\" where not \"success\"", Integer.class));
+  }
+
+  @Test
+  @DisplayName("New rows should get ids above the ones already in the legacy tables")
+  public void testSequencesStartAboveExistingIds() {
+    Farm farm = new Farm();
+    farm.setName("Fazenda Nova");
+    farm.setSize(5.0);
+    Long farmId = farmService.insertFarm(farm).getId();
+    Assertions.assertTrue(farmId > LEGACY_FARM_ID);
+
+    Crop crop = new Crop();
+    crop.setName("Soja");
+    crop.setPlantedDate(LocalDate.of(2023, 2, 1));
+    crop.setHarvestDate(LocalDate.of(2023, 7, 1));
+    Assertions.assertTrue(
+        farmService.insertCrop(farmId, crop).orElseThrow().getId() > LEGACY_CROP_ID);
+
+    Fertilizer fertilizer = new Fertilizer();
+    fertilizer.setName("Composto");
+    Assertions.assertTrue(
+        fertilizerService.insertFertilizer(fertilizer).getId() > LEGACY_FERTILIZER_ID);
+
+    Person person = new Person();
+    person.setUsername("novo");
+    person.setPassword("senha");
+    person.setRole(Role.USER);
+    Assertions.assertTrue(personService.create(person).getId() > LEGACY_PERSON_ID);
+  }
+
+  @Test
+  @DisplayName("The legacy links of both join tables should be kept once under the primary key of crop_fertilizer")
+  public void testLegacyLinks() throws Exception {
+    Assertions.assertEquals(1, jdbcTemplate.queryForObject(
+        "select count(*) from crop_fertilizer where crop_id = ? and fertilizer_id = ?",
+        Integer.class, LEGACY_CROP_ID, LEGACY_FERTILIZER_ID));
+    Assertions.assertEquals(1, jdbcTemplate.queryForObject(
+        "select count(*) from crop_fertilizer where crop_id = ? and fertilizer_id = ?",
+        Integer.class, LEGACY_CROP_ID, CROP_SIDE_FERTILIZER_ID));
+    Assertions.assertEquals(0, jdbcTemplate.queryForObject(
+        "select count(*) from information_schema.tables where table_name = 'CROP_FERTILIZERS'",
+        Integer.class));
+    Assertions.assertEquals(1, jdbcTemplate.queryForObject(
+        "select count(*) from information_schema.table_constraints "
+            + "where table_name = 'CROP_FERTILIZER' and constraint_type = 'PRIMARY KEY'",
+        Integer.class));
+    Assertions.assertEquals(3, jdbcTemplate.queryForObject(
+        "select count(*) from information_schema.indexes where index_name in "
+            + "('IDX_CROP_FARM_ID', 'IDX_CROP_HARVEST_DATE', 'IDX_CROP_FERTILIZER_FERTILIZER_ID')",
+        Integer.class));
+
+    mockMvc.perform(get("/crops/" + LEGACY_CROP_ID + "/fertilizers"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[*].id", Matchers.containsInAnyOrder(
+            (int) LEGACY_FERTILIZER_ID, (int) CROP_SIDE_FERTILIZER_ID)));
+    mockMvc.perform(get("/farms/" + LEGACY_FARM_ID + "/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.cropCount").value(1));
+  }
+}
@@ -0,0 +1,93 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.controllers.advice.GlobalControllerAdvice;
+import com.betrybe.agrix.ebytr.staff.exception.PersonNotFoundException;
+import com.betrybe.agrix.services.exception.CropNotFoundException;
+import com.betrybe.agrix.services.exception.FarmNotFoundException;
+import com.betrybe.agrix.services.exception.FertilizerNotFoundException;
+import com.betrybe.agrix.services.exception.NotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Stackless not found responses")
+public class NotFoundResponseTest {
+
+  private static final MediaType TEXT_PLAIN_UTF8 =
+      new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private GlobalControllerAdvice globalControllerAdvice;
+
+  @Test
+  @DisplayName("Missing resources should be answered with their UTF-8 encoded message")
+  public void testNotFoundBodies() throws Exception {
+    assertNotFound("/farms/0", "Fazenda não encontrada!");
+    assertNotFound("/farms/0/crops", "Fazenda não encontrada!");
+    assertNotFound("/crops/0", "Plantação não encontrada!");
+    assertNotFound("/crops/0/fertilizers", "Plantação não encontrada!");
+    assertNotFound("/fertilizers/0", "Fertilizante não encontrado!");
+  }
+
+  @Test
+  @DisplayName("Not found exceptions should not record stack traces")
+  public void testStackless() {
+    List<Throwable> exceptions = List.of(
+        new FarmNotFoundException(),
+        new CropNotFoundException(),
+        new FertilizerNotFoundException(),
+        new PersonNotFoundException()
+    );
+    for (Throwable exception : exceptions) {
+      Assertions.assertEquals(0, exception.getStackTrace().length,
+          () -> exception.getClass().getSimpleName() + " recorded its stack trace");
+    }
+  }
+
+  @Test
+  @DisplayName("The advice should reuse one encoded response per message")
+  public void testResponsesReused() {
+    ResponseEntity<byte[]> farm = globalControllerAdvice
+        .handleNotFoundException(new FarmNotFoundException());
+    NotFoundException crop = new CropNotFoundException();
+
+    Assertions.assertSame(farm,
+        globalControllerAdvice.handleNotFoundException(new FarmNotFoundException()));
+    Assertions.assertNotSame(farm, globalControllerAdvice.handleNotFoundException(crop));
+
+    ResponseEntity<byte[]> person = globalControllerAdvice
+        .handlePersonNotFoundException(new PersonNotFoundException());
+    Assertions.assertEquals(HttpStatus.NOT_FOUND, person.getStatusCode());
+    Assertions.assertEquals(TEXT_PLAIN_UTF8, person.getHeaders().getContentType());
+    Assertions.assertEquals("Pessoa não encontrada!",
+        new String(person.getBody(), StandardCharsets.UTF_8));
+  }
+
+  private void assertNotFound(String url, String message) throws Exception {
+    String body = mockMvc.perform(get(url))
+        .andExpect(status().isNotFound())
+        .andExpect(content().contentTypeCompatibleWith(TEXT_PLAIN_UTF8))
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    Assertions.assertEquals(message, body);
+  }
+}
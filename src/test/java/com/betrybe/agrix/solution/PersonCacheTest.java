@@ -0,0 +1,96 @@
+package com.betrybe.agrix.solution;
+
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.betrybe.agrix.ebytr.staff.entity.Person;
+import com.betrybe.agrix.ebytr.staff.exception.PersonNotFoundException;
+import com.betrybe.agrix.ebytr.staff.repository.PersonRepository;
+import com.betrybe.agrix.ebytr.staff.service.PersonService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@DisplayName("Username lookups cached by PersonService")
+public class PersonCacheTest {
+
+  @Autowired
+  private PersonService personService;
+
+  @SpyBean
+  private PersonRepository personRepository;
+
+  @BeforeEach
+  public void clearRepositoryCalls() {
+    clearInvocations(personRepository);
+  }
+
+  @Test
+  @DisplayName("Repeated lookups of a username should query the repository once")
+  public void testOneQueryPerUsername() {
+    insertPerson("cachedUser", "cachedPassword");
+
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertEquals("cachedPassword",
+          personService.getPersonByUsername("cachedUser").getPassword());
+    }
+
+    verify(personRepository, times(1)).findByUsername("cachedUser");
+  }
+
+  @Test
+  @DisplayName("Repeated lookups of a missing username should query the repository once")
+  public void testOneQueryPerMissingUsername() {
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertThrows(PersonNotFoundException.class,
+          () -> personService.getPersonByUsername("missingUser"));
+    }
+
+    verify(personRepository, times(1)).findByUsername("missingUser");
+  }
+
+  @Test
+  @DisplayName("Creating a person should make the next lookup of its username query again")
+  public void testCreateInvalidatesMissingUsername() {
+    Assertions.assertThrows(PersonNotFoundException.class,
+        () -> personService.getPersonByUsername("lateUser"));
+
+    Person lateUser = new Person();
+    lateUser.setUsername("lateUser");
+    lateUser.setPassword("latePassword");
+    personService.create(lateUser);
+
+    Assertions.assertEquals(lateUser, personService.getPersonByUsername("lateUser"));
+    Assertions.assertEquals(lateUser, personService.getPersonByUsername("lateUser"));
+    verify(personRepository, times(2)).findByUsername("lateUser");
+  }
+
+  @Test
+  @DisplayName("Changes to a found person should not reach the next lookups")
+  public void testCachedUsernameIsCopied() {
+    insertPerson("copiedUser", "copiedPassword");
+
+    Person firstLookup = personService.getPersonByUsername("copiedUser");
+    firstLookup.setPassword("changedByTheCaller");
+    Person secondLookup = personService.getPersonByUsername("copiedUser");
+
+    Assertions.assertNotSame(firstLookup, secondLookup);
+    Assertions.assertEquals("copiedPassword", secondLookup.getPassword());
+    verify(personRepository, times(1)).findByUsername("copiedUser");
+  }
+
+  private void insertPerson(String username, String password) {
+    Person person = new Person();
+    person.setUsername(username);
+    person.setPassword(password);
+    personRepository.save(person);
+  }
+}
@@ -0,0 +1,99 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.services.FarmService;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@DisplayName("Metrics exposed on the Prometheus endpoint")
+@TestInstance(Lifecycle.PER_CLASS)
+public class PrometheusMetricsTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private FarmService farmService;
+
+  private String scrape;
+
+  @BeforeAll
+  public void scrapeAfterRequests() throws Exception {
+    Farm farm = new Farm();
+    farm.setName("Fazenda Medida");
+    farm.setSize(10.0);
+    Long farmId = farmService.insertFarm(farm).getId();
+    Crop crop = new Crop();
+    crop.setName("Plantação Medida");
+    crop.setHarvestDate(LocalDate.of(2023, 6, 1));
+    farmService.insertCrop(farmId, crop);
+
+    mockMvc.perform(get("/farms/" + farmId + "/crops")).andExpect(status().isOk());
+    mockMvc.perform(get("/farms/" + farmId)).andExpect(status().isOk());
+    mockMvc.perform(get("/crops/search?start=2023-01-01&end=2023-12-31"))
+        .andExpect(status().isOk());
+
+    scrape = mockMvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  @DisplayName("Every route should have a latency histogram")
+  public void testRouteHistograms() {
+    assertMetric("http_server_requests_seconds_bucket",
+        "uri=\"/farms/{farmId}/crops\"", "le=\"", "application=\"agrix\"");
+    assertMetric("http_server_requests_seconds_bucket", "uri=\"/crops/search\"", "le=\"");
+  }
+
+  @Test
+  @DisplayName("Every repository method should have a timer with a histogram")
+  public void testRepositoryTimers() {
+    assertMetric("spring_data_repository_invocations_seconds_count",
+        "repository=\"FarmRepository\"", "method=\"findById\"", "state=\"SUCCESS\"");
+    assertMetric("spring_data_repository_invocations_seconds_bucket",
+        "repository=\"CropRepository\"", "method=\"findDtosByFarmId\"", "le=\"");
+    assertMetric("spring_data_repository_invocations_seconds_count",
+        "repository=\"CropRepository\"", "method=\"save\"");
+  }
+
+  @Test
+  @DisplayName("Hibernate statistics and the Hikari pool should be published")
+  public void testHibernateAndHikariMetrics() {
+    assertMetric("hibernate_statements_total", "status=\"prepared\"");
+    assertMetric("hibernate_entities_loads_total");
+    assertMetric("hibernate_collections_fetches_total");
+    assertMetric("hibernate_second_level_cache_requests_total", "result=\"hit\"");
+    assertMetric("hikaricp_connections_active", "pool=\"");
+    assertMetric("hikaricp_connections_acquire_seconds_count");
+  }
+
+  private void assertMetric(String name, String... labels) {
+    Stream<String> samples = scrape.lines().filter(line -> line.startsWith(name + "{"));
+    Assertions.assertTrue(
+        samples.anyMatch(line -> Arrays.stream(labels).allMatch(line::contains)),
+        "No " + name + " sample with " + Arrays.toString(labels));
+  }
+}
@@ -0,0 +1,123 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.monitoring.QueryBudgetFilter;
+import com.betrybe.agrix.monitoring.StatementCounter;
+import com.betrybe.agrix.services.FarmService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "agrix.query-budget.default-budget=5",
+    "agrix.query-budget.routes=GET /crops=1,get /crops/{cropId}=0"
+})
+@AutoConfigureMockMvc
+@DisplayName("SQL statement budgets per route")
+@TestInstance(Lifecycle.PER_CLASS)
+public class QueryBudgetTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private FarmService farmService;
+
+  @Autowired
+  private QueryBudgetFilter queryBudgetFilter;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private Long cropId;
+
+  @BeforeAll
+  public void setupDatabase() {
+    Farm farm = new Farm();
+    farm.setName("Fazenda Orçamento");
+    farm.setSize(3.0);
+    Long farmId = farmService.insertFarm(farm).getId();
+
+    Crop crop = new Crop();
+    crop.setName("Soja");
+    crop.setPlantedDate(LocalDate.of(2023, 1, 1));
+    crop.setHarvestDate(LocalDate.of(2023, 5, 1));
+    cropId = farmService.insertCrop(farmId, crop).orElseThrow().getId();
+  }
+
+  @Test
+  @DisplayName("The budgets should be read per route, falling back to the default")
+  public void testBudgetOf() {
+    Assertions.assertEquals(1, queryBudgetFilter.budgetOf("GET", "/crops"));
+    Assertions.assertEquals(0, queryBudgetFilter.budgetOf("GET", "/crops/{cropId}"));
+    Assertions.assertEquals(5, queryBudgetFilter.budgetOf("GET", "/fertilizers"));
+  }
+
+  @Test
+  @DisplayName("Responses should carry the statements of the request in X-Query-Count")
+  public void testQueryCountHeader() throws Exception {
+    try (StatementCounter.Scope scope = StatementCounter.open()) {
+      mockMvc.perform(get("/crops"))
+          .andExpect(status().isOk())
+          .andExpect(header().string("X-Query-Count", "1"));
+
+      Assertions.assertEquals(1, scope.count());
+    }
+    Assertions.assertNull(StatementCounter.current());
+    Assertions.assertEquals(0.0, overBudget("/crops"));
+  }
+
+  @Test
+  @DisplayName("A request over the budget of its route should be counted")
+  public void testOverBudget() throws Exception {
+    double before = overBudget("/crops/{cropId}");
+
+    mockMvc.perform(get("/crops/" + cropId))
+        .andExpect(status().isOk())
+        .andExpect(header().string("X-Query-Count", "1"));
+
+    Assertions.assertEquals(before + 1, overBudget("/crops/{cropId}"));
+    Assertions.assertNotNull(meterRegistry.find("agrix.http.statements")
+        .tags("method", "GET", "uri", "/crops/{cropId}")
+        .summary());
+  }
+
+  @Test
+  @DisplayName("A malformed budget should be rejected")
+  public void testMalformedBudget() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new QueryBudgetFilter(List.of("GET /crops"), null, registry));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new QueryBudgetFilter(List.of("/crops=1"), null, registry));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new QueryBudgetFilter(List.of("GET /crops=one"), null, registry));
+  }
+
+  private double overBudget(String uri) {
+    Counter counter = meterRegistry.find("agrix.http.statements.over.budget")
+        .tags("method", "GET", "uri", uri)
+        .counter();
+    return counter != null ? counter.count() : 0.0;
+  }
+}
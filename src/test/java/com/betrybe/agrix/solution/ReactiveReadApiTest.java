@@ -0,0 +1,253 @@
+package com.betrybe.agrix.solution;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.config.ReactiveReadServer;
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.models.projections.CropDto;
+import com.betrybe.agrix.models.projections.FarmDto;
+import com.betrybe.agrix.models.projections.FertilizerDto;
+import com.betrybe.agrix.services.CropService;
+import com.betrybe.agrix.services.FarmService;
+import com.betrybe.agrix.services.FertilizerService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Reactive read API")
+@TestInstance(Lifecycle.PER_CLASS)
+public class ReactiveReadApiTest {
+
+  private static final int CROPS = 5;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private FarmService farmService;
+
+  @Autowired
+  private CropService cropService;
+
+  @Autowired
+  private FertilizerService fertilizerService;
+
+  @Autowired
+  private ReactiveReadServer reactiveReadServer;
+
+  private WebTestClient client;
+
+  private Long farmId;
+
+  private Long cropId;
+
+  private Long fertilizerId;
+
+  @BeforeAll
+  public void setupDatabase() throws Exception {
+    Farm farm = new Farm();
+    farm.setName("Fazenda Reativa");
+    farm.setSize(20.0);
+    farmId = farmService.insertFarm(farm).getId();
+
+    for (int i = 0; i < CROPS; i++) {
+      Crop crop = new Crop();
+      crop.setName("Plantação Reativa " + i);
+      crop.setPlantedArea(1.5 + i);
+      crop.setPlantedDate(LocalDate.of(2023, 1, 1));
+      crop.setHarvestDate(LocalDate.of(2023, 6, 1 + i));
+      cropId = farmService.insertCrop(farmId, crop).orElseThrow().getId();
+    }
+
+    Fertilizer fertilizer = new Fertilizer();
+    fertilizer.setName("Adubo Reativo");
+    fertilizer.setBrand("Marca");
+    fertilizer.setComposition("NPK");
+    fertilizerId = fertilizerService.insertFertilizer(fertilizer).getId();
+    cropService.addFertilizerToCrop(cropId, fertilizerId);
+
+    client = WebTestClient.bindToServer()
+        .baseUrl("http://localhost:" + reactiveReadServer.getPort())
+        .build();
+  }
+
+  @Test
+  @DisplayName("GET /farms/{farmId}/crops should return the same crops as the servlet API")
+  public void testGetCropsByFarmId() throws Exception {
+    List<CropDto> crops = client.get().uri("/farms/{farmId}/crops", farmId)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBodyList(CropDto.class)
+        .returnResult().getResponseBody();
+
+    Assertions.assertEquals(servletList("/farms/" + farmId + "/crops"), crops);
+    Assertions.assertEquals(CROPS, crops.size());
+  }
+
+  @Test
+  @DisplayName("GET /crops should stream one crop per line when NDJSON is accepted")
+  public void testStreamCrops() {
+    List<CropDto> crops = client.get().uri("/crops")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+        .returnResult(CropDto.class)
+        .getResponseBody()
+        .filter(crop -> farmId.equals(crop.farmId()))
+        .collectList()
+        .block();
+
+    Assertions.assertNotNull(crops);
+    Assertions.assertEquals(CROPS, crops.size());
+    Assertions.assertEquals("Plantação Reativa 0", crops.get(0).name());
+  }
+
+  @Test
+  @DisplayName("GET /farms/{farmId} and /crops/{cropId} should return the DTOs")
+  public void testGetById() {
+    client.get().uri("/farms/{farmId}", farmId).exchange()
+        .expectStatus().isOk()
+        .expectBody(FarmDto.class)
+        .isEqualTo(new FarmDto(farmId, "Fazenda Reativa", 20.0));
+
+    client.get().uri("/crops/{cropId}", cropId).exchange()
+        .expectStatus().isOk()
+        .expectBody(CropDto.class)
+        .isEqualTo(new CropDto(cropId, "Plantação Reativa 4", 5.5,
+            LocalDate.of(2023, 1, 1), LocalDate.of(2023, 6, 5), farmId));
+  }
+
+  @Test
+  @DisplayName("GET /crops/{cropId}/fertilizers should return the fertilizers of the crop")
+  public void testGetFertilizersByCropId() {
+    client.get().uri("/crops/{cropId}/fertilizers", cropId).exchange()
+        .expectStatus().isOk()
+        .expectBodyList(FertilizerDto.class)
+        .hasSize(1)
+        .value(fertilizers -> Assertions.assertEquals("Adubo Reativo", fertilizers.get(0).name()));
+  }
+
+  @Test
+  @DisplayName("GET /crops/search should filter the crops by harvest date")
+  public void testSearchCrops() {
+    client.get().uri("/crops/search?start=2023-06-02&end=2023-06-03").exchange()
+        .expectStatus().isOk()
+        .expectBodyList(CropDto.class)
+        .value(crops -> Assertions.assertEquals(
+            List.of("Plantação Reativa 1", "Plantação Reativa 2"),
+            crops.stream().filter(crop -> farmId.equals(crop.farmId()))
+                .map(CropDto::name).toList()));
+
+    client.get().uri("/crops/search?start=junho").exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  @DisplayName("GET /crops/search should apply every filter and sort of the servlet API")
+  public void testSearchCropsMirrorsServlet() throws Exception {
+    String farm = "farmId=" + farmId;
+    List<String> queries = List.of(
+        farm,
+        farm + "&name=Planta",
+        farm + "&name=Planta_",
+        farm + "&name=Planta!",
+        farm + "&name=Planta%25",
+        farm + "&plantedFrom=2023-01-01&plantedTo=2023-01-01&start=2023-06-02",
+        farm + "&minArea=2.5&maxArea=4.5&sort=PLANTED_AREA&direction=DESC",
+        farm + "&sort=HARVEST_DATE&direction=DESC",
+        "fertilizerId=" + fertilizerId
+    );
+
+    for (String query : queries) {
+      List<CropDto> crops = client.get().uri("/crops/search?" + query).exchange()
+          .expectStatus().isOk()
+          .expectBodyList(CropDto.class)
+          .returnResult().getResponseBody();
+      Assertions.assertEquals(servletList("/crops/search?" + query), crops, query);
+    }
+
+    client.get().uri("/crops/search?" + farm + "&minArea=2.5&maxArea=4.5").exchange()
+        .expectBodyList(CropDto.class).hasSize(3);
+    client.get().uri("/crops/search?sort=SIZE").exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  @DisplayName("GET /crops/search should page with the cursors of the servlet API")
+  public void testSearchCropsPages() throws Exception {
+    String query = "farmId=" + farmId + "&sort=HARVEST_DATE&direction=DESC&limit=2";
+    String firstCursor = mockMvc.perform(get("/crops/search?" + query))
+        .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+    List<CropDto> crops = new ArrayList<>();
+    String uri = "/crops/search?" + query;
+    for (int page = 0; uri != null; page++) {
+      EntityExchangeResult<List<CropDto>> result = client.get().uri(uri).exchange()
+          .expectStatus().isOk()
+          .expectBodyList(CropDto.class)
+          .returnResult();
+      crops.addAll(result.getResponseBody());
+      String cursor = result.getResponseHeaders().getFirst("X-Next-Cursor");
+      if (page == 0) {
+        Assertions.assertEquals(firstCursor, cursor);
+      }
+      uri = cursor != null ? "/crops/search?limit=2&farmId=" + farmId + "&after=" + cursor : null;
+    }
+
+    Assertions.assertEquals(
+        servletList("/crops/search?farmId=" + farmId + "&sort=HARVEST_DATE&direction=DESC"),
+        crops);
+    Assertions.assertEquals(CROPS, crops.size());
+  }
+
+  @Test
+  @DisplayName("Missing farms and crops should answer 404 with the servlet API messages")
+  public void testNotFound() {
+    client.get().uri("/farms/{farmId}", Long.MAX_VALUE).exchange()
+        .expectStatus().isNotFound()
+        .expectBody(String.class).isEqualTo("Fazenda não encontrada!");
+
+    client.get().uri("/farms/{farmId}/crops", Long.MAX_VALUE).exchange()
+        .expectStatus().isNotFound()
+        .expectBody(String.class).isEqualTo("Fazenda não encontrada!");
+
+    client.get().uri("/crops/{cropId}/fertilizers", Long.MAX_VALUE).exchange()
+        .expectStatus().isNotFound()
+        .expectBody(String.class).isEqualTo("Plantação não encontrada!");
+  }
+
+  private List<CropDto> servletList(String url) throws Exception {
+    String body = mockMvc.perform(get(url))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    return objectMapper.readValue(body, new TypeReference<>() {});
+  }
+}
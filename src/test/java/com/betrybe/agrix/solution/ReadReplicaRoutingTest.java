@@ -0,0 +1,279 @@
+package com.betrybe.agrix.solution;
+
+import com.betrybe.agrix.config.ReadReplicaProperties;
+import com.betrybe.agrix.config.ReadWriteRoutingDataSource;
+import com.betrybe.agrix.config.ReadYourWritesFilter;
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.services.CropService;
+import com.betrybe.agrix.services.FarmService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.cache.CacheManager;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Cache;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "agrix.datasource.replica.enabled=true",
+    "agrix.datasource.replica.url="
+        + "jdbc:h2:mem:${agrix.test.database:testdb}-replica;DB_CLOSE_DELAY=-1",
+    "agrix.datasource.replica.username=sa",
+    "agrix.datasource.replica.password=",
+    "agrix.datasource.replica.max-lag=0s"
+})
+@DisplayName("Read-only transactions routed to the read replica")
+@TestInstance(Lifecycle.PER_CLASS)
+public class ReadReplicaRoutingTest {
+
+  @Autowired
+  private FarmService farmService;
+
+  @Autowired
+  private CropService cropService;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private CacheManager secondLevelCacheManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  @Qualifier("primaryDataSource")
+  private DataSource primaryDataSource;
+
+  @Autowired
+  @Qualifier("replicaDataSource")
+  private DataSource replicaDataSource;
+
+  @Autowired
+  private ReadReplicaProperties replicaProperties;
+
+  @Autowired
+  @Qualifier("applicationTaskExecutor")
+  private AsyncTaskExecutor applicationTaskExecutor;
+
+  private JdbcTemplate replica;
+
+  @BeforeAll
+  public void migrateReplica() {
+    DataSource writableReplica = new DriverManagerDataSource(
+        replicaProperties.url(), replicaProperties.username(), replicaProperties.password());
+    Flyway.configure()
+        .dataSource(writableReplica)
+        .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+        .load()
+        .migrate();
+    replica = new JdbcTemplate(writableReplica);
+  }
+
+  @Test
+  @DisplayName("Writes should go to the primary and read-only service methods to the replica")
+  public void testReadsGoToReplica() {
+    Farm farm = new Farm();
+    farm.setName("Fazenda Primária");
+    farm.setSize(8.0);
+    Long farmId = farmService.insertFarm(farm).getId();
+
+    Crop crop = new Crop();
+    crop.setName("Milho");
+    crop.setPlantedDate(LocalDate.of(2023, 2, 1));
+    crop.setHarvestDate(LocalDate.of(2023, 7, 1));
+    Long cropId = farmService.insertCrop(farmId, crop).orElseThrow().getId();
+
+    Assertions.assertEquals(1, new JdbcTemplate(primaryDataSource)
+        .queryForObject("SELECT COUNT(*) FROM crop WHERE id = ?", Integer.class, cropId));
+    Assertions.assertTrue(cropService.getCropById(cropId).isEmpty());
+
+    replica.update("INSERT INTO farm (id, name, size) VALUES (?, ?, ?)", farmId, "Réplica", 8.0);
+    replica.update("INSERT INTO crop (id, name, planted_area, farm_id) VALUES (?, ?, ?, ?)",
+        cropId, "Milho replicado", 1.5, farmId);
+
+    Assertions.assertEquals("Milho replicado",
+        cropService.getCropById(cropId).orElseThrow().getName());
+  }
+
+  @Test
+  @DisplayName("Reads from the replica should not fill the second-level and query caches")
+  public void testReplicaReadsAreNotCached() {
+    Farm farm = new Farm();
+    farm.setName("Fazenda Cacheada");
+    farm.setSize(4.0);
+    Long farmId = farmService.insertFarm(farm).getId();
+    replica.update("INSERT INTO farm (id, name, size, version) VALUES (?, ?, ?, ?)",
+        farmId, "Fazenda Atrasada", 4.0, 0L);
+
+    Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    cache.evictAllRegions();
+
+    Assertions.assertEquals("Fazenda Atrasada",
+        farmService.getFarmById(farmId).orElseThrow().getName());
+    Assertions.assertTrue(farmService.getFarmVersion(farmId).isPresent());
+    Assertions.assertFalse(cache.contains(Farm.class, farmId),
+        "A replica read must not cache the entity for the clients reading from the primary");
+    Assertions.assertFalse(queryResultsCached(), "A replica read must not cache query results");
+
+    ReadWriteRoutingDataSource.setReadsFromPrimary(true);
+    try {
+      Assertions.assertEquals("Fazenda Cacheada",
+          farmService.getFarmById(farmId).orElseThrow().getName());
+      Assertions.assertTrue(farmService.getFarmVersion(farmId).isPresent());
+    } finally {
+      ReadWriteRoutingDataSource.setReadsFromPrimary(false);
+    }
+    Assertions.assertTrue(cache.contains(Farm.class, farmId));
+    Assertions.assertTrue(queryResultsCached());
+
+    Assertions.assertEquals("Fazenda Cacheada",
+        farmService.getFarmById(farmId).orElseThrow().getName(),
+        "Replica reads should still be served by the entries cached from the primary");
+  }
+
+  @Test
+  @DisplayName("Read-only transactions should skip dirty checking and flushing")
+  public void testReadOnlySession() {
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+
+    readOnly.executeWithoutResult(status -> {
+      Session session = entityManager.unwrap(Session.class);
+      Assertions.assertTrue(session.isDefaultReadOnly());
+      Assertions.assertEquals(FlushMode.MANUAL, session.getHibernateFlushMode());
+    });
+  }
+
+  @Test
+  @DisplayName("Read-only transactions should go to the primary only while the thread is pinned")
+  public void testReadsFromPrimary() {
+    String primaryName = databaseName(new JdbcTemplate(primaryDataSource));
+    String replicaName = databaseName(new JdbcTemplate(replicaDataSource));
+    Assertions.assertNotEquals(primaryName, replicaName);
+
+    DataSource routing = new LazyConnectionDataSourceProxy(
+        new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource));
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+    TransactionTemplate readWrite = new TransactionTemplate(
+        new DataSourceTransactionManager(routing));
+    TransactionTemplate readOnly = new TransactionTemplate(
+        new DataSourceTransactionManager(routing));
+    readOnly.setReadOnly(true);
+
+    Assertions.assertEquals(replicaName, readOnly.execute(status -> databaseName(jdbcTemplate)));
+    Assertions.assertEquals(primaryName, readWrite.execute(status -> databaseName(jdbcTemplate)));
+    Assertions.assertEquals(replicaName, readOnly.execute(status -> databaseName(jdbcTemplate)),
+        "A write transaction must not send the reads of other clients to the primary");
+
+    ReadWriteRoutingDataSource.setReadsFromPrimary(true);
+    try {
+      Assertions.assertEquals(primaryName,
+          readOnly.execute(status -> databaseName(jdbcTemplate)));
+    } finally {
+      ReadWriteRoutingDataSource.setReadsFromPrimary(false);
+    }
+    Assertions.assertEquals(replicaName, readOnly.execute(status -> databaseName(jdbcTemplate)));
+  }
+
+  @Test
+  @DisplayName("Asynchronous tasks should read from the primary when submitted by a pinned thread")
+  public void testReadsFromPrimaryInTasks() throws Exception {
+    ReadWriteRoutingDataSource.setReadsFromPrimary(true);
+    try {
+      Assertions.assertTrue(applicationTaskExecutor
+          .submit(ReadWriteRoutingDataSource::isReadingFromPrimary)
+          .get(10, TimeUnit.SECONDS));
+    } finally {
+      ReadWriteRoutingDataSource.setReadsFromPrimary(false);
+    }
+
+    Assertions.assertFalse(applicationTaskExecutor
+        .submit(ReadWriteRoutingDataSource::isReadingFromPrimary)
+        .get(10, TimeUnit.SECONDS),
+        "The pin must not outlive the task on the worker thread");
+  }
+
+  @Test
+  @DisplayName("Only the requests of a client that wrote within the maximum lag read the primary")
+  public void testReadYourWritesFilter() throws Exception {
+    ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofHours(1));
+
+    MockHttpServletResponse written = new MockHttpServletResponse();
+    Assertions.assertFalse(readsFromPrimary(filter, new MockHttpServletRequest("POST", "/farms"),
+        written));
+    Cookie lastWrite = written.getCookie(ReadYourWritesFilter.COOKIE);
+    Assertions.assertNotNull(lastWrite);
+
+    MockHttpServletRequest sameClient = new MockHttpServletRequest("GET", "/farms");
+    sameClient.setCookies(lastWrite);
+    Assertions.assertTrue(readsFromPrimary(filter, sameClient, new MockHttpServletResponse()));
+    Assertions.assertFalse(ReadWriteRoutingDataSource.isReadingFromPrimary());
+
+    Assertions.assertFalse(readsFromPrimary(filter, new MockHttpServletRequest("GET", "/farms"),
+        new MockHttpServletResponse()));
+
+    MockHttpServletRequest staleClient = new MockHttpServletRequest("GET", "/farms");
+    staleClient.setCookies(new Cookie(ReadYourWritesFilter.COOKIE,
+        Long.toString(System.currentTimeMillis() - Duration.ofHours(2).toMillis())));
+    Assertions.assertFalse(readsFromPrimary(filter, staleClient, new MockHttpServletResponse()));
+
+    MockHttpServletResponse read = new MockHttpServletResponse();
+    readsFromPrimary(filter, new MockHttpServletRequest("GET", "/farms"), read);
+    Assertions.assertNull(read.getCookie(ReadYourWritesFilter.COOKIE));
+  }
+
+  private static boolean readsFromPrimary(
+      ReadYourWritesFilter filter,
+      MockHttpServletRequest request,
+      MockHttpServletResponse response
+  ) throws Exception {
+    AtomicBoolean primary = new AtomicBoolean();
+    filter.doFilter(request, response,
+        (req, res) -> primary.set(ReadWriteRoutingDataSource.isReadingFromPrimary()));
+    return primary.get();
+  }
+
+  private boolean queryResultsCached() {
+    return secondLevelCacheManager
+        .getCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)
+        .iterator()
+        .hasNext();
+  }
+
+  private static String databaseName(JdbcTemplate jdbcTemplate) {
+    return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+  }
+}
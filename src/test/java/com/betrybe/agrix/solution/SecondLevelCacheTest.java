@@ -0,0 +1,90 @@
+package com.betrybe.agrix.solution;
+
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.models.projections.FarmDto;
+import com.betrybe.agrix.models.projections.FertilizerDto;
+import com.betrybe.agrix.services.FarmService;
+import com.betrybe.agrix.services.FertilizerService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@DisplayName("Second-level cache for farms and fertilizers")
+@TestInstance(Lifecycle.PER_CLASS)
+public class SecondLevelCacheTest {
+
+  @Autowired
+  private FarmService farmService;
+
+  @Autowired
+  private FertilizerService fertilizerService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeAll
+  public void setupStatistics() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  @DisplayName("Should serve a farm by id from the cache")
+  public void testFarmByIdIsCached() {
+    Long farmId = farmService.insertFarm(newFarm("Fazenda Cache")).getId();
+
+    statistics.clear();
+    farmService.getFarmById(farmId);
+
+    Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    Assertions.assertEquals(1, statistics.getSecondLevelCacheHitCount());
+  }
+
+  @Test
+  @DisplayName("Should invalidate the cached farm list when a farm is inserted")
+  public void testInsertFarmInvalidatesQueryCache() {
+    List<FarmDto> before = farmService.getAllFarms();
+    statistics.clear();
+    Assertions.assertEquals(before, farmService.getAllFarms());
+    Assertions.assertEquals(1, statistics.getQueryCacheHitCount());
+
+    Farm farm = farmService.insertFarm(newFarm("Fazenda Nova"));
+
+    Assertions.assertTrue(farmService.getAllFarms().contains(FarmDto.fromEntity(farm)));
+  }
+
+  @Test
+  @DisplayName("Should invalidate the cached fertilizer list when a fertilizer is inserted")
+  public void testInsertFertilizerInvalidatesQueryCache() {
+    fertilizerService.getAllFertilizers();
+
+    Fertilizer fertilizer = new Fertilizer();
+    fertilizer.setName("Fertilizante Novo");
+    fertilizer = fertilizerService.insertFertilizer(fertilizer);
+
+    Assertions.assertTrue(
+        fertilizerService.getAllFertilizers().contains(FertilizerDto.fromEntity(fertilizer))
+    );
+  }
+
+  private static Farm newFarm(String name) {
+    Farm farm = new Farm();
+    farm.setName(name);
+    farm.setSize(10.0);
+    return farm;
+  }
+}
@@ -0,0 +1,68 @@
+package com.betrybe.agrix.solution;
+
+import com.betrybe.agrix.config.VirtualThreadsConfig;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+@DisplayName("Opt-in virtual thread request execution")
+public class VirtualThreadsConfigTest {
+
+  private final WebApplicationContextRunner runner = new WebApplicationContextRunner()
+      .withConfiguration(AutoConfigurations.of(VirtualThreadsConfig.class));
+
+  @Test
+  @DisplayName("Should stay on the platform thread pool unless enabled")
+  public void testDisabledByDefault() {
+    runner.run(context -> Assertions.assertTrue(
+        context.getBeansOfType(ExecutorService.class).isEmpty()));
+  }
+
+  @Test
+  @DisplayName("Should run the tasks of the executor on virtual threads")
+  public void testEnabled() {
+    runner.withPropertyValues("agrix.threads.virtual=true").run(context -> {
+      ExecutorService executor = context.getBean(ExecutorService.class);
+      Assertions.assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get());
+    });
+  }
+
+  @Nested
+  @ActiveProfiles({"test", "virtual-threads"})
+  @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+  @DisplayName("With the virtual-threads profile")
+  public class VirtualThreadsProfileTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private ExecutorService virtualThreadExecutor;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Tomcat should serve the requests on the virtual thread executor")
+    public void testTomcatExecutor() {
+      TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+      Assertions.assertSame(virtualThreadExecutor,
+          webServer.getTomcat().getConnector().getProtocolHandler().getExecutor());
+
+      Assertions.assertEquals(HttpStatus.OK,
+          restTemplate.getForEntity("/farms", String.class).getStatusCode());
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.betrybe.agrix.testsupport;
+
+import com.betrybe.agrix.models.entities.Crop;
+import com.betrybe.agrix.models.entities.Farm;
+import com.betrybe.agrix.models.entities.Fertilizer;
+import com.betrybe.agrix.services.FarmService;
+import com.betrybe.agrix.services.FertilizerService;
+import java.time.LocalDate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+/**
+ * Inserts farms, crops and fertilizers through the services, so the indexes and rollups that the
+ * services maintain see them like any other insert. Tests add it with
+ * {@code @Import(AgrixFixtures.class)} and only pass the values they assert on.
+ */
+@TestComponent
+public class AgrixFixtures {
+
+  public static final double FARM_SIZE = 10.0;
+
+  public static final LocalDate PLANTED_DATE = LocalDate.of(2023, 3, 1);
+
+  public static final LocalDate HARVEST_DATE = LocalDate.of(2023, 9, 1);
+
+  private final FarmService farmService;
+
+  private final FertilizerService fertilizerService;
+
+  @Autowired
+  public AgrixFixtures(FarmService farmService, FertilizerService fertilizerService) {
+    this.farmService = farmService;
+    this.fertilizerService = fertilizerService;
+  }
+
+  /**
+   * Inserts a farm of {@link #FARM_SIZE} and returns its id.
+   */
+  public Long insertFarm(String name) {
+    return insertFarm(name, FARM_SIZE);
+  }
+
+  /**
+   * Inserts a farm and returns its id.
+   */
+  public Long insertFarm(String name, Double size) {
+    Farm farm = new Farm();
+    farm.setName(name);
+    farm.setSize(size);
+    return farmService.insertFarm(farm).getId();
+  }
+
+  /**
+   * Inserts a crop without planted area, planted on {@link #PLANTED_DATE} and harvested on
+   * {@link #HARVEST_DATE}, and returns its id.
+   */
+  public Long insertCrop(Long farmId, String name) {
+    return insertCrop(farmId, name, null, PLANTED_DATE, HARVEST_DATE);
+  }
+
+  /**
+   * Inserts a crop into the farm and returns its id.
+   */
+  public Long insertCrop(Long farmId, String name, Double plantedArea, LocalDate plantedDate,
+      LocalDate harvestDate) {
+    Crop crop = new Crop();
+    crop.setName(name);
+    crop.setPlantedArea(plantedArea);
+    crop.setPlantedDate(plantedDate);
+    crop.setHarvestDate(harvestDate);
+    return farmService.insertCrop(farmId, crop).orElseThrow().getId();
+  }
+
+  /**
+   * Inserts a fertilizer and returns its id.
+   */
+  public Long insertFertilizer(String name) {
+    Fertilizer fertilizer = new Fertilizer();
+    fertilizer.setName(name);
+    fertilizer.setBrand("Orgânica");
+    fertilizer.setComposition("Natural");
+    return fertilizerService.insertFertilizer(fertilizer).getId();
+  }
+}
@@ -0,0 +1,29 @@
+package com.betrybe.agrix.testsupport;
+
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Gives every test application context its own in-memory database, named by the
+ * agrix.test.database property. Each context cleans and migrates the schema on startup, so
+ * contexts sharing one database would reset the sequences under the id blocks already handed
+ * out to the contexts kept in the test context cache.
+ *
+ * <p>Registered in META-INF/spring.factories, so it applies to the contexts of every test
+ * suite, the evaluation tests as well as the solution ones.</p>
+ */
+public class TestDatabaseEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+  @Override
+  public void postProcessEnvironment(
+      ConfigurableEnvironment environment,
+      SpringApplication application
+  ) {
+    environment.getPropertySources().addLast(new MapPropertySource("agrixTestDatabase",
+        Map.of("agrix.test.database", "testdb-" + UUID.randomUUID())));
+  }
+}